@@ -0,0 +1,96 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.User;
+import com.codesoom.assignment.domain.UserRepository;
+import com.codesoom.assignment.errors.InvalidTokenException;
+import com.codesoom.assignment.errors.LoginFailException;
+import com.codesoom.assignment.errors.PasswordHashingBusyException;
+import com.codesoom.assignment.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// 비밀번호 해시 비교와 토큰 검증은 오래 걸리므로 트랜잭션 없이 실행한다.
+// 사용자 조회와 저장은 저장소 메서드마다 짧은 트랜잭션으로 끝나서, 해시를
+// 기다리는 동안 DB 연결을 붙잡고 있지 않는다.
+@Service
+public class AuthenticationService {
+    private final UserRepository userRepository;
+    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final PrincipalCache principalCache;
+    private final PasswordEncoder passwordEncoder;
+
+    public AuthenticationService(
+            UserRepository userRepository,
+            JwtUtil jwtUtil,
+            VerifiedTokenCache verifiedTokenCache,
+            PrincipalCache principalCache,
+            PasswordEncoder passwordEncoder
+    ) {
+        this.userRepository = userRepository;
+        this.jwtUtil = jwtUtil;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.principalCache = principalCache;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String login(String email, String password) {
+        User user = userRepository.findByEmail(User.normalizeEmail(email))
+                .orElseThrow(() -> new LoginFailException(email));
+
+        if (!user.authenticate(password, passwordEncoder)) {
+            throw new LoginFailException(email);
+        }
+
+        if (user.hasPlainPassword()) {
+            upgradePassword(user, password);
+        }
+
+        return jwtUtil.encode(user.getId());
+    }
+
+    // 캐시에 없는 사용자는 복제본이 아닌 주 데이터베이스에서 읽어야 방금 탈퇴한
+    // 사용자를 놓치지 않는다. 읽기 전용 트랜잭션은 복제본으로 가므로 이 안에서
+    // 트랜잭션을 열지 않는다.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Long parseToken(String accessToken) {
+        if (accessToken == null || accessToken.isBlank()) {
+            throw new InvalidTokenException(accessToken);
+        }
+
+        Long userId = verifiedTokenCache.getUserId(accessToken)
+                .orElseGet(() -> verify(accessToken));
+
+        // 서명이 맞더라도 탈퇴한 사용자의 토큰은 받지 않는다.
+        return principalCache.getPrincipal(userId)
+                .map(UserPrincipal::getId)
+                .orElseThrow(() -> new InvalidTokenException(accessToken));
+    }
+
+    private void upgradePassword(User user, String password) {
+        try {
+            user.changePassword(passwordEncoder.encode(password));
+            userRepository.save(user);
+        } catch (PasswordHashingBusyException | ConcurrencyFailureException e) {
+            // 로그인은 이미 성공했으므로 해시로 바꾸는 일은 다음 로그인으로 미룬다.
+        }
+    }
+
+    private Long verify(String accessToken) {
+        Claims claims = jwtUtil.decode(accessToken);
+
+        Long userId = claims.get("userId", Long.class);
+        if (userId == null) {
+            throw new InvalidTokenException(accessToken);
+        }
+
+        verifiedTokenCache.put(accessToken, userId, claims.getExpiration());
+
+        return userId;
+    }
+}
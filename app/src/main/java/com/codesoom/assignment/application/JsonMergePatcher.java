@@ -0,0 +1,91 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.errors.InvalidPatchException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.validation.metadata.BeanDescriptor;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// RFC 7396 JSON Merge Patch 를 DTO 에 적용한다.
+// 보낸 필드만 바뀌고, 검증도 보낸 필드에 대해서만 한다.
+@Component
+public class JsonMergePatcher {
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public JsonMergePatcher(ObjectMapper objectMapper, Validator validator) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    public <T> T apply(T target, JsonNode patch, Class<T> type) {
+        if (patch == null || !patch.isObject()) {
+            throw new InvalidPatchException("patch must be a JSON object");
+        }
+
+        JsonNode merged = merge(objectMapper.valueToTree(target), patch);
+
+        T patched;
+        try {
+            patched = objectMapper.treeToValue(merged, type);
+        } catch (JsonProcessingException e) {
+            throw new InvalidPatchException(e.getOriginalMessage());
+        }
+
+        validate(patched, patch, type);
+
+        return patched;
+    }
+
+    private JsonNode merge(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch;
+        }
+
+        ObjectNode result = target != null && target.isObject()
+                ? ((ObjectNode) target).deepCopy()
+                : objectMapper.createObjectNode();
+
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getValue().isNull()) {
+                result.remove(field.getKey());
+            } else {
+                result.set(field.getKey(),
+                        merge(result.get(field.getKey()), field.getValue()));
+            }
+        }
+
+        return result;
+    }
+
+    private <T> void validate(T patched, JsonNode patch, Class<T> type) {
+        BeanDescriptor descriptor = validator.getConstraintsForClass(type);
+        Set<String> messages = new TreeSet<>();
+
+        patch.fieldNames().forEachRemaining(name -> {
+            if (descriptor.getConstraintsForProperty(name) == null) {
+                return;
+            }
+
+            Set<ConstraintViolation<T>> violations =
+                    validator.validateProperty(patched, name);
+            violations.forEach(violation ->
+                    messages.add(name + " " + violation.getMessage()));
+        });
+
+        if (!messages.isEmpty()) {
+            throw new InvalidPatchException(String.join(", ", messages));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.codesoom.assignment.application;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// 버전 충돌이나 락 경합으로 실패한 트랜잭션을 정해진 횟수까지 처음부터 다시 실행한다.
+// 트랜잭션 바깥에서 불러야 다시 실행할 때 최신 상태를 읽는다.
+@Component
+public class OptimisticLockRetrier {
+    private final int maxRetries;
+
+    public OptimisticLockRetrier(
+            @Value("${optimistic-lock.max-retries:3}") int maxRetries
+    ) {
+        this.maxRetries = maxRetries;
+    }
+
+    public <T> T run(Supplier<T> action) {
+        for (int attempt = 0; ; attempt += 1) {
+            try {
+                return action.get();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxRetries) {
+                    throw e;
+                }
+                backOff(attempt);
+            }
+        }
+    }
+
+    private void backOff(int attempt) {
+        // 같은 상품을 고치는 요청끼리 다시 부딪히지 않도록 조금씩 흩뜨린다.
+        long bound = 1L << Math.min(attempt + 1, 6);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
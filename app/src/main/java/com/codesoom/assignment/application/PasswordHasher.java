@@ -0,0 +1,139 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.errors.PasswordHashingBusyException;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 비밀번호 해시는 CPU 를 많이 쓰기 때문에 코어 수만큼의 전용 스레드에서만 돌린다.
+// 대기열이 차면 기다리지 않고 바로 거절해서(429) 로그인이 몰려도
+// 상품 조회를 처리하는 톰캣 스레드가 CPU 를 빼앗기지 않게 한다.
+// BCrypt 는 인터럽트를 확인하지 않아서 시작한 해시를 멈출 수 없다. 그래서 제한
+// 시간은 대기열에서 기다리는 시간에만 적용한다. 그때까지 시작하지 못한 작업은
+// 대기열에서 꺼내 버리고, 이미 시작한 해시는 끝날 때까지 기다린다.
+@Component
+public class PasswordHasher implements PasswordEncoder {
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    @Autowired
+    public PasswordHasher(
+            @Value("${password.hashing.strength:10}") int strength,
+            @Value("${password.hashing.threads:0}") int threads,
+            @Value("${password.hashing.queue-capacity:32}") int queueCapacity,
+            @Value("${password.hashing.timeout:5s}") Duration timeout
+    ) {
+        this(new BCryptPasswordEncoder(strength),
+                threads > 0
+                        ? threads
+                        : Runtime.getRuntime().availableProcessors(),
+                queueCapacity, timeout);
+    }
+
+    PasswordHasher(
+            PasswordEncoder passwordEncoder,
+            int threads,
+            int queueCapacity,
+            Duration timeout
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("password-hasher-%d")
+                        .setDaemon(true)
+                        .build(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    int queuedTasks() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task) {
+        HashingTask<T> hashing = new HashingTask<>(task);
+        try {
+            executor.execute(hashing);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException();
+        }
+
+        try {
+            try {
+                return hashing.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (hashing.claim()) {
+                    executor.remove(hashing);
+                    throw new PasswordHashingBusyException();
+                }
+                return hashing.get();
+            }
+        } catch (InterruptedException e) {
+            if (hashing.claim()) {
+                executor.remove(hashing);
+            }
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    // 작업 스레드와 기다리다 포기한 호출자 중 먼저 차지한 쪽만 이긴다.
+    // 호출자가 먼저 차지하면 스레드가 꺼내더라도 해시를 하지 않는다.
+    private static class HashingTask<T> extends FutureTask<T> {
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        HashingTask(Callable<T> callable) {
+            super(callable);
+        }
+
+        @Override
+        public void run() {
+            if (claim()) {
+                super.run();
+            }
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.UserRepository;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 인증된 요청마다 사용자가 아직 있는지(삭제되지 않았는지) 확인하는 조회를
+// 줄이기 위한 캐시. 삭제된 사용자는 캐시에 넣지 않는다.
+//
+// 삭제가 커밋되기 전에 시작된 조회가 삭제 전 상태를 다시 넣지 않도록
+// 사용자마다 무효화 횟수(stamp)를 두고, 조회를 시작할 때의 stamp 가
+// 그대로일 때만 캐시에 넣는다.
+@Component
+public class PrincipalCache {
+    private static final int STAMP_STRIPES = 1024;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, UserPrincipal> principals;
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+    private final Timer lookupTimer;
+
+    public PrincipalCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${authentication.principal-cache.maximum-size:10000}")
+                    long maximumSize,
+            @Value("${authentication.principal-cache.ttl:1m}") Duration ttl
+    ) {
+        this.userRepository = userRepository;
+        this.principals = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.lookupTimer = Timer.builder("principal.cache.lookup")
+                .description("Time to resolve an authenticated user")
+                .register(meterRegistry);
+
+        GuavaCacheMetrics.monitor(meterRegistry, principals, "principals");
+    }
+
+    public Optional<UserPrincipal> getPrincipal(Long userId) {
+        return lookupTimer.record(() -> lookup(userId));
+    }
+
+    public void invalidate(Long userId) {
+        evict(userId);
+
+        // 커밋 전에 다른 요청이 바뀌기 전 상태를 다시 읽어 넣었을 수 있으므로
+        // 트랜잭션이 끝난 뒤에 한 번 더 지운다.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronizationAdapter() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            evict(userId);
+                        }
+                    });
+        }
+    }
+
+    private Optional<UserPrincipal> lookup(Long userId) {
+        UserPrincipal principal = principals.getIfPresent(userId);
+        if (principal != null) {
+            return Optional.of(principal);
+        }
+
+        long stamp = stamps.get(stripe(userId));
+
+        Optional<UserPrincipal> loaded =
+                userRepository.findByIdAndDeletedIsFalse(userId)
+                        .map(UserPrincipal::of);
+
+        loaded.ifPresent(it -> principals.asMap().compute(userId,
+                (id, current) -> stamps.get(stripe(id)) == stamp
+                        ? it
+                        : current));
+
+        return loaded;
+    }
+
+    private void evict(Long userId) {
+        stamps.incrementAndGet(stripe(userId));
+        principals.invalidate(userId);
+    }
+
+    private int stripe(Long userId) {
+        return Math.floorMod(userId.hashCode(), STAMP_STRIPES);
+    }
+}
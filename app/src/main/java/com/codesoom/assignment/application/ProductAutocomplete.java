@@ -0,0 +1,76 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.ProductRepository;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 상품 이름 자동 완성. 조회는 지금 걸려 있는 트라이만 읽고, 상품이 바뀌면
+// 백그라운드에서 새 트라이를 만들어 참조를 바꿔 끼운다.
+@Component
+public class ProductAutocomplete {
+    private final ProductRepository productRepository;
+    private final int topK;
+    private final ExecutorService executor;
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    private volatile ProductNameTrie trie = ProductNameTrie.empty();
+
+    public ProductAutocomplete(
+            ProductRepository productRepository,
+            @Value("${product.autocomplete.top-k:10}") int topK
+    ) {
+        this.productRepository = productRepository;
+        this.topK = topK;
+        this.executor = Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder()
+                        .setNameFormat("product-autocomplete-%d")
+                        .setDaemon(true)
+                        .build());
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        List<String> suggestions = trie.suggest(prefix);
+        return suggestions.subList(
+                0, Math.min(Math.max(limit, 0), suggestions.size()));
+    }
+
+    // 시작할 때의 적재도 변경 때와 같은 스레드에서 해야, 먼저 읽은 목록으로
+    // 만든 트라이가 나중에 끝나서 새 트라이를 덮어쓰는 일이 없다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleRebuild() {
+        // 변경이 몰려도 대기 중인 재구성은 하나만 둔다. 재구성을 시작하면서
+        // 표시를 지우므로 그 뒤에 커밋된 변경은 다음 재구성에 반영된다.
+        if (rebuildPending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                rebuildPending.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    // 이벤트 내용은 쓰지 않고 저장소에서 다시 읽으므로 이벤트가 커밋 순서와
+    // 다르게 와도 마지막 재구성은 최신 이름을 본다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleProductChanged(ProductChangedEvent event) {
+        scheduleRebuild();
+    }
+
+    void rebuild() {
+        trie = ProductNameTrie.build(productRepository.findAllNames(), topK);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,45 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.ProductView;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductChangedEvent {
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+
+    private final Long productId;
+
+    // 이 변경으로 커밋된 상품의 @Version. 커밋 뒤 리스너가 불리는 순서는 커밋
+    // 순서와 다를 수 있으므로 이 값으로 늦게 온 옛 변경을 가려낸다.
+    // 삭제 이벤트와 버전을 모르는 이벤트에는 없다.
+    private final Long version;
+
+    // 바뀐 뒤의 상품 내용. 삭제 이벤트에는 없다.
+    private final ProductView product;
+
+    // 바뀌기 전의 상품 내용. 추가 이벤트에는 없다.
+    private final ProductView previous;
+
+    public ProductChangedEvent(Type type, Long productId) {
+        this(type, productId, null, null, null);
+    }
+
+    public ProductChangedEvent(Type type, Long productId, ProductView product) {
+        this(type, productId, null, product, null);
+    }
+
+    public ProductChangedEvent(
+            Type type,
+            Long productId,
+            ProductView product,
+            ProductView previous
+    ) {
+        this(type, productId, null, product, previous);
+    }
+}
@@ -0,0 +1,62 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.errors.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// 마지막으로 본 상품의 id를 클라이언트가 내용을 신경 쓰지 않아도 되는
+// 불투명한 문자열로 감싼다. 가격순 목록은 가격과 id 를 함께 담는다.
+public class ProductCursor {
+    private static final Base64.Encoder ENCODER =
+            Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private ProductCursor() {
+    }
+
+    public static String encode(Long id) {
+        return ENCODER.encodeToString(
+                id.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static Long decode(String cursor) {
+        try {
+            return Long.valueOf(decodeText(cursor));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    public static String encode(Integer price, Long id) {
+        return ENCODER.encodeToString((price + ":" + id)
+                .getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static PriceKey decodePriceKey(String cursor) {
+        try {
+            String[] parts = decodeText(cursor).split(":", -1);
+            if (parts.length != 2) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new PriceKey(
+                    Integer.valueOf(parts[0]), Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    private static String decodeText(String cursor) {
+        return new String(DECODER.decode(cursor), StandardCharsets.US_ASCII);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class PriceKey {
+        private final Integer price;
+
+        private final Long id;
+    }
+}
@@ -0,0 +1,35 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.domain.ProductRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+@Transactional(readOnly = true)
+public class ProductExportService {
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+
+    public ProductExportService(
+            ProductRepository productRepository,
+            EntityManager entityManager
+    ) {
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+    }
+
+    public void exportProducts(Consumer<Product> consumer) {
+        try (Stream<Product> products = productRepository.streamAll()) {
+            products.forEach(product -> {
+                consumer.accept(product);
+                // 내보낸 상품은 영속성 컨텍스트에 쌓이지 않도록 바로 떼어낸다.
+                entityManager.detach(product);
+            });
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.domain.ProductView;
+import com.codesoom.assignment.dto.ProductData;
+import com.codesoom.assignment.dto.ProductImportError;
+import com.codesoom.assignment.dto.ProductImportResult;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// JSON 배열이나 NDJSON 으로 받은 상품을 청크 단위로 검증하고 저장한다.
+// 청크마다 트랜잭션 하나와 JDBC 배치 insert 를 쓰고, 저장한 뒤에는
+// 영속성 컨텍스트를 비워서 입력이 커져도 메모리가 늘지 않게 한다.
+// 데이터베이스가 청크를 거절하면 그 청크만 하나씩 다시 저장해서 실패한 항목을
+// 오류로 알리고, 앞서 커밋한 청크와 뒤의 청크는 그대로 진행한다.
+@Service
+public class ProductImportService {
+    private final ProductMapper productMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final ObjectReader reader;
+    private final int batchSize;
+
+    public ProductImportService(
+            ProductMapper productMapper,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            Validator validator,
+            ObjectMapper objectMapper,
+            @Value("${product.import.batch-size:500}") int batchSize
+    ) {
+        this.productMapper = productMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.reader = objectMapper.readerFor(ProductData.class);
+        this.batchSize = batchSize;
+    }
+
+    public ProductImportResult importProducts(InputStream input)
+            throws IOException {
+        List<ProductImportError> errors = new ArrayList<>();
+        List<PendingProduct> chunk = new ArrayList<>(batchSize);
+        int imported = 0;
+        int index = 0;
+
+        // 최상위가 배열이면 MappingIterator 가 배열의 원소를 하나씩 읽는다.
+        try (MappingIterator<ProductData> iterator = reader.readValues(input)) {
+            while (iterator.hasNextValue()) {
+                try {
+                    ProductData productData = iterator.nextValue();
+                    String message = validate(productData);
+                    if (message == null) {
+                        chunk.add(new PendingProduct(index, productData));
+                    } else {
+                        errors.add(new ProductImportError(index, message));
+                    }
+                } catch (JsonMappingException e) {
+                    // 형식이 맞지 않는 항목은 건너뛰고 다음 항목부터 읽는다.
+                    errors.add(new ProductImportError(
+                            index, e.getOriginalMessage()));
+                }
+
+                index += 1;
+
+                if (chunk.size() == batchSize) {
+                    imported += saveChunk(chunk, errors);
+                    chunk.clear();
+                }
+            }
+        } catch (JsonParseException e) {
+            // 문법 오류 뒤로는 항목의 경계를 알 수 없으므로 멈춘다.
+            errors.add(new ProductImportError(index, e.getOriginalMessage()));
+        }
+
+        if (!chunk.isEmpty()) {
+            imported += saveChunk(chunk, errors);
+        }
+
+        // 다시 저장하다 실패한 항목은 뒤늦게 들어오므로 입력 순서로 돌려놓는다.
+        errors.sort(Comparator.comparingInt(ProductImportError::getIndex));
+
+        return new ProductImportResult(imported, errors);
+    }
+
+    private String validate(ProductData productData) {
+        if (productData == null) {
+            return "Product is null";
+        }
+
+        Set<ConstraintViolation<ProductData>> violations =
+                validator.validate(productData);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " +
+                        violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private int saveChunk(
+            List<PendingProduct> chunk,
+            List<ProductImportError> errors
+    ) {
+        try {
+            return save(chunk);
+        } catch (DataAccessException | PersistenceException e) {
+            // 배치 insert 는 어느 항목이 문제인지 알려 주지 않는다.
+            int saved = 0;
+            for (PendingProduct pending : chunk) {
+                try {
+                    saved += save(List.of(pending));
+                } catch (DataAccessException | PersistenceException itemError) {
+                    errors.add(new ProductImportError(pending.index,
+                            NestedExceptionUtils.getMostSpecificCause(itemError)
+                                    .getMessage()));
+                }
+            }
+            return saved;
+        }
+    }
+
+    private int save(List<PendingProduct> chunk) {
+        return transactionTemplate.execute(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            session.setJdbcBatchSize(batchSize);
+            // 대량 insert 로 2차 캐시를 밀어내지 않는다.
+            session.setCacheMode(CacheMode.IGNORE);
+
+            List<Product> products = new ArrayList<>(chunk.size());
+            for (PendingProduct pending : chunk) {
+                Product product = productMapper.toProduct(pending.productData);
+                entityManager.persist(product);
+                products.add(product);
+            }
+
+            entityManager.flush();
+            entityManager.clear();
+
+            products.forEach(product -> eventPublisher.publishEvent(
+                    new ProductChangedEvent(
+                            ProductChangedEvent.Type.CREATED,
+                            product.getId(),
+                            product.getVersion(),
+                            ProductView.of(product),
+                            null)));
+
+            return products.size();
+        });
+    }
+
+    private static class PendingProduct {
+        private final int index;
+        private final ProductData productData;
+
+        PendingProduct(int index, ProductData productData) {
+            this.index = index;
+            this.productData = productData;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.dto.ProductBulkUpdateData;
+import com.codesoom.assignment.dto.ProductData;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProductMapper {
+    public Product toProduct(ProductData productData) {
+        return Product.builder()
+                .name(productData.getName())
+                .maker(productData.getMaker())
+                .price(productData.getPrice())
+                .imageUrl(productData.getImageUrl())
+                .build();
+    }
+
+    public ProductData toProductData(Product product) {
+        return ProductData.builder()
+                .name(product.getName())
+                .maker(product.getMaker())
+                .price(product.getPrice())
+                .imageUrl(product.getImageUrl())
+                .build();
+    }
+
+    public void updateProduct(Product product, ProductData productData) {
+        product.change(
+                productData.getName(),
+                productData.getMaker(),
+                productData.getPrice(),
+                productData.getImageUrl()
+        );
+    }
+
+    // 값이 있는 속성만 바꾼다.
+    public void patchProduct(Product product, ProductBulkUpdateData.Item item) {
+        product.change(
+                item.getName() == null ? product.getName() : item.getName(),
+                item.getMaker() == null ? product.getMaker() : item.getMaker(),
+                item.getPrice() == null ? product.getPrice() : item.getPrice(),
+                item.getImageUrl() == null
+                        ? product.getImageUrl()
+                        : item.getImageUrl()
+        );
+    }
+}
@@ -0,0 +1,135 @@
+package com.codesoom.assignment.application;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+// 상품 이름의 접두사 트라이. 노드마다 그 아래에서 가장 많이 쓰인 이름 k 개를
+// 미리 골라 두어서 조회는 접두사를 따라 내려가는 것으로 끝난다.
+// 한 번 만들면 바꾸지 않는다. 바뀐 이름은 새로 만들어서 갈아 끼운다.
+public class ProductNameTrie {
+    private static final Comparator<Suggestion> RANKING =
+            Comparator.comparingInt((Suggestion suggestion) -> -suggestion.count)
+                    .thenComparing(suggestion -> suggestion.name);
+
+    private final Node root;
+
+    private ProductNameTrie(Node root) {
+        this.root = root;
+    }
+
+    // 같은 이름을 쓰는 상품이 많을수록 앞에 온다.
+    public static ProductNameTrie build(Iterable<String> names, int topK) {
+        Map<String, Suggestion> suggestions = new HashMap<>();
+        for (String name : names) {
+            if (name == null || name.isBlank()) {
+                continue;
+            }
+            suggestions.computeIfAbsent(key(name), key -> new Suggestion(name))
+                    .count += 1;
+        }
+
+        Builder root = new Builder();
+        suggestions.forEach((key, suggestion) -> {
+            Builder node = root;
+            for (int i = 0; i < key.length(); i += 1) {
+                node = node.children.computeIfAbsent(
+                        key.charAt(i), c -> new Builder());
+            }
+            node.suggestion = suggestion;
+        });
+
+        return new ProductNameTrie(root.freeze(topK));
+    }
+
+    public static ProductNameTrie empty() {
+        return build(List.of(), 0);
+    }
+
+    public List<String> suggest(String prefix) {
+        String key = key(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i += 1) {
+            node = node.child(key.charAt(i));
+        }
+
+        return node == null ? List.of() : node.top;
+    }
+
+    // 한글 음절을 자모로 풀어 두면 입력 중인 "쥐ㄷ" 도 "쥐돌이" 의 접두사가 된다.
+    private static String key(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKD)
+                .toLowerCase(Locale.ROOT)
+                .trim();
+    }
+
+    private static class Suggestion {
+        private final String name;
+        private int count;
+
+        Suggestion(String name) {
+            this.name = name;
+        }
+    }
+
+    private static class Builder {
+        private final TreeMap<Character, Builder> children = new TreeMap<>();
+        private Suggestion suggestion;
+
+        // 자식들의 상위 k 개와 이 노드의 이름을 합쳐 다시 k 개를 고른다.
+        Node freeze(int topK) {
+            char[] keys = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+            List<Suggestion> candidates = new ArrayList<>();
+            if (suggestion != null) {
+                candidates.add(suggestion);
+            }
+
+            int index = 0;
+            for (Map.Entry<Character, Builder> entry : children.entrySet()) {
+                keys[index] = entry.getKey();
+                nodes[index] = entry.getValue().freeze(topK);
+                candidates.addAll(nodes[index].ranked);
+                index += 1;
+            }
+
+            candidates.sort(RANKING);
+            List<Suggestion> ranked = List.copyOf(candidates.subList(
+                    0, Math.min(topK, candidates.size())));
+
+            return new Node(keys, nodes, ranked);
+        }
+    }
+
+    private static class Node {
+        private final char[] keys;
+        private final Node[] children;
+        private final List<Suggestion> ranked;
+        private final List<String> top;
+
+        Node(char[] keys, Node[] children, List<Suggestion> ranked) {
+            this.keys = keys;
+            this.children = children;
+            this.ranked = ranked;
+            this.top = ranked.stream()
+                    .map(suggestion -> suggestion.name)
+                    .collect(Collectors.toUnmodifiableList());
+        }
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index < 0 ? null : children[index];
+        }
+    }
+}
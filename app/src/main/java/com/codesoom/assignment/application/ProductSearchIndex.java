@@ -0,0 +1,335 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.ProductRepository;
+import com.codesoom.assignment.domain.ProductView;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// 상품 이름과 제조사의 1-gram, 2-gram 역색인. 한국어는 띄어쓰기만으로 단어를
+// 나눌 수 없어서 "쥐돌" 로 "쥐돌이" 를 찾으려면 글자 단위로 쪼개야 한다.
+// 상품마다 0 부터 매긴 문서 번호를 주고 gram 마다 정렬된 int 배열에 담는다.
+// 지운 상품의 번호는 다음에 들어오는 상품이 다시 쓴다.
+// 커밋 뒤 리스너는 커밋 순서대로 불린다는 보장이 없어서 문서마다 색인한
+// 상품 버전을 두고 그보다 옛 변경은 버린다.
+@Component
+public class ProductSearchIndex {
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAX_RESULTS = 100;
+    private static final long UNKNOWN_VERSION = -1;
+    // 지운 뒤 늦게 도착한 변경을 가려낼 동안만 기억한다. 상품 id 는 다시 쓰지 않는다.
+    private static final Duration DELETED_RETENTION = Duration.ofMinutes(10);
+
+    private final ProductRepository productRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Integer, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> documentIds = new HashMap<>();
+    private ProductView[] documents = new ProductView[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private int documentCount = 0;
+    private int[] freeDocuments = new int[16];
+    private int freeCount = 0;
+    private final Cache<Long, Boolean> deletedIds = CacheBuilder.newBuilder()
+            .expireAfterWrite(DELETED_RETENTION)
+            .build();
+
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    // 읽는 동안에도 쓰기 락을 잡아 두면 그 사이 커밋된 변경은 적재가 끝난 뒤에
+    // 덮어쓰이므로 빠지지 않는다. 적재한 상품의 버전은 모르므로 이후 변경을 모두 받는다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        lock.writeLock().lock();
+        try {
+            productRepository.findAllViews()
+                    .forEach(product -> put(product, UNKNOWN_VERSION));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.getType() == ProductChangedEvent.Type.DELETED) {
+                deletedIds.put(event.getProductId(), Boolean.TRUE);
+                remove(event.getProductId());
+            } else if (event.getProduct() != null && !isStale(event)) {
+                put(event.getProduct(), event.getVersion() != null
+                        ? event.getVersion()
+                        : UNKNOWN_VERSION);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 띄어 쓴 검색어는 모두 이름이나 제조사에 들어 있어야 한다. id 순서로 돌려준다.
+    public List<ProductView> search(String query, int limit) {
+        List<String> words = words(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+
+        int size = Math.min(Math.max(limit, 1), MAX_RESULTS);
+
+        lock.readLock().lock();
+        try {
+            int[] candidates = null;
+            for (String word : words) {
+                for (int gram : queryGrams(word)) {
+                    PostingList posting = postings.get(gram);
+                    if (posting == null) {
+                        return List.of();
+                    }
+                    candidates = candidates == null
+                            ? posting.toArray()
+                            : posting.intersect(candidates);
+                    if (candidates.length == 0) {
+                        return List.of();
+                    }
+                }
+            }
+
+            // 2-gram 이 모두 있어도 붙어 있지 않을 수 있어서 원문으로 한 번 더 본다.
+            List<ProductView> found = new ArrayList<>();
+            for (int document : candidates) {
+                ProductView product = documents[document];
+                if (product != null && containsAll(product, words)) {
+                    found.add(product);
+                }
+            }
+
+            return found.stream()
+                    .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                    .limit(size)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 같은 버전은 받는다. 한 트랜잭션에서 같은 상품을 여러 번 고치면 이벤트가
+    // 모두 같은 버전을 달고 순서대로 온다.
+    private boolean isStale(ProductChangedEvent event) {
+        if (deletedIds.getIfPresent(event.getProductId()) != null) {
+            return true;
+        }
+
+        Integer document = documentIds.get(event.getProductId());
+        return document != null
+                && event.getVersion() != null
+                && versions[document] > event.getVersion();
+    }
+
+    private void put(ProductView product, long version) {
+        Integer existing = documentIds.get(product.getId());
+        if (existing != null) {
+            unindex(existing);
+        }
+
+        int document = existing != null ? existing : nextDocument();
+        documentIds.put(product.getId(), document);
+        documents[document] = product;
+        versions[document] = version;
+
+        for (int gram : documentGrams(product)) {
+            postings.computeIfAbsent(gram, key -> new PostingList())
+                    .add(document);
+        }
+    }
+
+    private void remove(Long productId) {
+        Integer document = documentIds.remove(productId);
+        if (document != null) {
+            unindex(document);
+            documents[document] = null;
+            release(document);
+        }
+    }
+
+    private void unindex(int document) {
+        for (int gram : documentGrams(documents[document])) {
+            PostingList posting = postings.get(gram);
+            if (posting != null && posting.remove(document)
+                    && posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private int nextDocument() {
+        if (freeCount > 0) {
+            freeCount -= 1;
+            return freeDocuments[freeCount];
+        }
+
+        if (documentCount == documents.length) {
+            documents = Arrays.copyOf(documents, documents.length * 2);
+            versions = Arrays.copyOf(versions, versions.length * 2);
+        }
+        return documentCount++;
+    }
+
+    private void release(int document) {
+        if (freeCount == freeDocuments.length) {
+            freeDocuments = Arrays.copyOf(freeDocuments, freeCount * 2);
+        }
+        freeDocuments[freeCount] = document;
+        freeCount += 1;
+    }
+
+    int capacity() {
+        lock.readLock().lock();
+        try {
+            return documents.length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] documentGrams(ProductView product) {
+        return Stream.of(product.getName(), product.getMaker())
+                .flatMap(text -> words(text).stream())
+                .flatMapToInt(word -> {
+                    int[] grams = new int[word.length() * 2 - 1];
+                    for (int i = 0; i < word.length(); i += 1) {
+                        grams[i] = unigram(word.charAt(i));
+                    }
+                    for (int i = 0; i + 1 < word.length(); i += 1) {
+                        grams[word.length() + i] =
+                                bigram(word.charAt(i), word.charAt(i + 1));
+                    }
+                    return Arrays.stream(grams);
+                })
+                .distinct()
+                .toArray();
+    }
+
+    private int[] queryGrams(String word) {
+        if (word.length() == 1) {
+            return new int[]{unigram(word.charAt(0))};
+        }
+
+        int[] grams = new int[word.length() - 1];
+        for (int i = 0; i + 1 < word.length(); i += 1) {
+            grams[i] = bigram(word.charAt(i), word.charAt(i + 1));
+        }
+        return grams;
+    }
+
+    private boolean containsAll(ProductView product, List<String> words) {
+        String name = normalize(product.getName());
+        String maker = normalize(product.getMaker());
+        return words.stream()
+                .allMatch(word -> name.contains(word) || maker.contains(word));
+    }
+
+    // 1-gram 은 글자 코드 그대로, 2-gram 은 두 글자를 위아래 16비트에 담는다.
+    // 앞 글자가 0 이 아니므로 둘이 겹치지 않는다.
+    private static int unigram(char c) {
+        return c;
+    }
+
+    private static int bigram(char first, char second) {
+        return (first << 16) | second;
+    }
+
+    private static List<String> words(String text) {
+        return Arrays.stream(SEPARATOR.split(normalize(text)))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT);
+    }
+
+    // 정렬된 문서 번호 배열. 새 상품은 대개 번호가 가장 커서 뒤에 붙고,
+    // 다시 쓰는 번호만 중간에 끼어든다.
+    private static class PostingList {
+        private int[] documents = new int[4];
+        private int size = 0;
+
+        void add(int document) {
+            int index = Arrays.binarySearch(documents, 0, size, document);
+            if (index >= 0) {
+                return;
+            }
+
+            int insertAt = -index - 1;
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            System.arraycopy(documents, insertAt,
+                    documents, insertAt + 1, size - insertAt);
+            documents[insertAt] = document;
+            size += 1;
+        }
+
+        boolean remove(int document) {
+            int index = Arrays.binarySearch(documents, 0, size, document);
+            if (index < 0) {
+                return false;
+            }
+
+            System.arraycopy(documents, index + 1,
+                    documents, index, size - index - 1);
+            size -= 1;
+            return true;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(documents, size);
+        }
+
+        int[] intersect(int[] others) {
+            int[] result = new int[Math.min(size, others.length)];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < size && j < others.length) {
+                if (documents[i] < others[j]) {
+                    i += 1;
+                } else if (documents[i] > others[j]) {
+                    j += 1;
+                } else {
+                    result[count++] = documents[i];
+                    i += 1;
+                    j += 1;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+    }
+}
@@ -1,60 +1,448 @@
 package com.codesoom.assignment.application;
 
+import com.codesoom.assignment.domain.CatalogVersion;
 import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.domain.ProductFields;
 import com.codesoom.assignment.domain.ProductRepository;
+import com.codesoom.assignment.domain.ProductView;
+import com.codesoom.assignment.dto.ProductBulkResult;
+import com.codesoom.assignment.dto.ProductBulkUpdateData;
+import com.codesoom.assignment.dto.ProductCatalog;
 import com.codesoom.assignment.dto.ProductData;
+import com.codesoom.assignment.dto.ProductLookupResult;
+import com.codesoom.assignment.dto.ProductPage;
+import com.codesoom.assignment.errors.InvalidVersionsException;
 import com.codesoom.assignment.errors.ProductNotFoundException;
-import com.github.dozermapper.core.Mapper;
+import com.codesoom.assignment.errors.ProductVersionMismatchException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.Lists;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class ProductService {
-    private final Mapper mapper;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_IN_CLAUSE_SIZE = 1000;
+
+    private final ProductMapper productMapper;
     private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JsonMergePatcher jsonMergePatcher;
 
     public ProductService(
-            Mapper dozerMapper,
-            ProductRepository productRepository
+            ProductMapper productMapper,
+            ProductRepository productRepository,
+            ApplicationEventPublisher eventPublisher,
+            JsonMergePatcher jsonMergePatcher
     ) {
-        this.mapper = dozerMapper;
+        this.productMapper = productMapper;
         this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.jsonMergePatcher = jsonMergePatcher;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductView> getProducts() {
+        return productRepository.findAllViews();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductView> getProducts(ProductFields fields) {
+        return fields.isAll()
+                ? productRepository.findAllViews()
+                : productRepository.findAllViews(fields);
+    }
+
+    @Transactional(readOnly = true)
+    public CatalogVersion getCatalogVersion() {
+        return productRepository.getCatalogVersion();
+    }
+
+    // 응답 캐시가 목록을 그 목록을 읽은 곳의 버전으로 저장하도록 둘을 한
+    // 트랜잭션에서 읽는다. 버전을 먼저 읽으므로 목록은 적어도 그 버전까지의
+    // 변경을 담는다.
+    @Transactional(readOnly = true)
+    public ProductCatalog getCatalog(ProductFields fields) {
+        CatalogVersion version = productRepository.getCatalogVersion();
+        return new ProductCatalog(version, getProducts(fields));
+    }
+
+    @Transactional(readOnly = true)
+    public ProductPage getProducts(String cursor, int limit) {
+        return getProducts(null, null, ProductSort.ID, cursor, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public ProductPage getProducts(
+            Integer minPrice,
+            Integer maxPrice,
+            ProductSort sort,
+            String cursor,
+            int limit
+    ) {
+        return getProducts(
+                minPrice, maxPrice, sort, cursor, limit, ProductFields.ALL);
+    }
+
+    // 모든 경우가 키셋 조건과 인덱스 순서로 한 쪽 + 1 개만 읽는다.
+    // 가격순 목록에는 가격이 없는 상품이 나오지 않는다.
+    // 고르지 않은 필드는 읽지 않지만, 다음 커서를 만들 id 와 가격순일 때의
+    // 가격은 항상 함께 읽는다.
+    @Transactional(readOnly = true)
+    public ProductPage getProducts(
+            Integer minPrice,
+            Integer maxPrice,
+            ProductSort sort,
+            String cursor,
+            int limit,
+            ProductFields fields
+    ) {
+        ProductFields selected = fields.with(ProductFields.Field.ID);
+        if (sort != ProductSort.ID) {
+            selected = selected.with(ProductFields.Field.PRICE);
+        }
+        boolean all = selected.isAll();
+
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        PageRequest pageRequest = PageRequest.of(0, size + 1);
+        int min = minPrice == null ? Integer.MIN_VALUE : minPrice;
+        int max = maxPrice == null ? Integer.MAX_VALUE : maxPrice;
+
+        List<ProductView> products;
+        switch (sort) {
+            case PRICE_ASC:
+                ProductCursor.PriceKey after = priceKey(
+                        cursor, new ProductCursor.PriceKey(min, Long.MIN_VALUE));
+                if (after.getPrice() < min) {
+                    after = new ProductCursor.PriceKey(min, Long.MIN_VALUE);
+                }
+                products = all
+                        ? productRepository.findViewsByPriceAscAfter(
+                                after.getPrice(), after.getId(), max,
+                                pageRequest)
+                        : productRepository.findViewsByPriceAscAfter(
+                                after.getPrice(), after.getId(), max,
+                                pageRequest, selected);
+                break;
+            case PRICE_DESC:
+                ProductCursor.PriceKey before = priceKey(
+                        cursor, new ProductCursor.PriceKey(max, Long.MAX_VALUE));
+                if (before.getPrice() > max) {
+                    before = new ProductCursor.PriceKey(max, Long.MAX_VALUE);
+                }
+                products = all
+                        ? productRepository.findViewsByPriceDescAfter(
+                                before.getPrice(), before.getId(), min,
+                                pageRequest)
+                        : productRepository.findViewsByPriceDescAfter(
+                                before.getPrice(), before.getId(), min,
+                                pageRequest, selected);
+                break;
+            default:
+                Long lastId = cursor == null ? 0L : ProductCursor.decode(cursor);
+                if (minPrice == null && maxPrice == null) {
+                    products = all
+                            ? productRepository.findViewsAfter(
+                                    lastId, pageRequest)
+                            : productRepository.findViewsAfter(
+                                    lastId, pageRequest, selected);
+                } else {
+                    products = all
+                            ? productRepository.findViewsInPriceRangeAfter(
+                                    lastId, min, max, pageRequest)
+                            : productRepository.findViewsInPriceRangeAfter(
+                                    lastId, min, max, pageRequest, selected);
+                }
+        }
+
+        if (products.size() <= size) {
+            return new ProductPage(products, null);
+        }
+
+        List<ProductView> page = products.subList(0, size);
+        ProductView last = page.get(size - 1);
+        String next = sort == ProductSort.ID
+                ? ProductCursor.encode(last.getId())
+                : ProductCursor.encode(last.getPrice(), last.getId());
+
+        return new ProductPage(page, next);
+    }
+
+    @Transactional(readOnly = true)
+    public ProductView getProduct(Long id) {
+        return productRepository.findViewById(id)
+                .orElseThrow(() -> new ProductNotFoundException(id));
+    }
+
+    // 응답 캐시는 내용과 버전을 한 번에 읽어야 하므로 엔티티를 돌려준다.
+    @Transactional(readOnly = true)
+    public Product getVersionedProduct(Long id) {
+        return findProduct(id, null);
+    }
+
+    @Transactional(readOnly = true)
+    public ProductView getProduct(Long id, ProductFields fields) {
+        if (fields.isAll()) {
+            return getProduct(id);
+        }
+
+        return productRepository.findViewById(id, fields)
+                .orElseThrow(() -> new ProductNotFoundException(id));
     }
 
-    public List<Product> getProducts() {
-        return productRepository.findAll();
+    // 요청한 순서대로 돌려주고, 없는 id 는 따로 모아 알려준다.
+    @Transactional(readOnly = true)
+    public ProductLookupResult getProducts(List<Long> ids) {
+        List<Long> requested = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+        Map<Long, ProductView> found = Lists
+                .partition(requested, MAX_IN_CLAUSE_SIZE).stream()
+                .flatMap(partition ->
+                        productRepository.findViewsByIdIn(partition).stream())
+                .collect(Collectors.toMap(
+                        ProductView::getId, Function.identity()));
+
+        List<ProductView> products = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            ProductView product = found.get(id);
+            if (product == null) {
+                missing.add(id);
+            } else {
+                products.add(product);
+            }
+        }
+
+        return new ProductLookupResult(products, missing);
     }
 
-    public Product getProduct(Long id) {
-        return findProduct(id);
+    @Transactional(readOnly = true)
+    public Long getProductVersion(Long id) {
+        return productRepository.findVersionById(id)
+                .orElseThrow(() -> new ProductNotFoundException(id));
     }
 
     public Product createProduct(ProductData productData) {
-        Product product = mapper.map(productData, Product.class);
-        return productRepository.save(product);
+        Product product = productRepository.save(
+                productMapper.toProduct(productData));
+
+        publishCreated(product);
+
+        return product;
     }
 
     public Product updateProduct(Long id, ProductData productData) {
-        Product product = findProduct(id);
+        return updateProduct(id, productData, null);
+    }
+
+    // expectedVersion 은 If-Match 로 받은 버전이다. null 이면 확인하지 않는다.
+    // 읽은 뒤에 다른 요청이 먼저 고치면 커밋할 때 @Version 검사에서 실패한다.
+    public Product updateProduct(
+            Long id,
+            ProductData productData,
+            Long expectedVersion
+    ) {
+        Product product = findProduct(id, expectedVersion);
+        ProductView previous = ProductView.of(product);
+
+        productMapper.updateProduct(product, productData);
+
+        publishUpdated(product, previous);
+
+        return product;
+    }
+
+    public Product patchProduct(Long id, JsonNode patch) {
+        return patchProduct(id, patch, null);
+    }
 
-        product.changeWith(mapper.map(productData, Product.class));
+    public Product patchProduct(Long id, JsonNode patch, Long expectedVersion) {
+        Product product = findProduct(id, expectedVersion);
+
+        ProductView previous = ProductView.of(product);
+
+        ProductData productData = jsonMergePatcher.apply(
+                productMapper.toProductData(product), patch, ProductData.class);
+
+        // 값이 그대로인 컬럼은 @DynamicUpdate 로 UPDATE 문에서 빠진다.
+        productMapper.updateProduct(product, productData);
+
+        publishUpdated(product, previous);
 
         return product;
     }
 
     public Product deleteProduct(Long id) {
-        Product product = findProduct(id);
+        return deleteProduct(id, null);
+    }
+
+    public Product deleteProduct(Long id, Long expectedVersion) {
+        Product product = findProduct(id, expectedVersion);
 
         productRepository.delete(product);
 
+        publishDeleted(ProductView.of(product));
+
         return product;
     }
 
-    private Product findProduct(Long id) {
-        return productRepository.findById(id)
+    // 요청한 상품을 한 번에 읽어 고치고, UPDATE 는 커밋할 때 JDBC 배치로 나간다.
+    // 항목마다 바꿀 속성만 받아서 요청 순서대로 적용한다. 같은 id 가 여러 번
+    // 나오면 앞의 변경 위에 뒤의 변경을 덧붙인다.
+    public ProductBulkResult updateProducts(
+            List<ProductBulkUpdateData.Item> items
+    ) {
+        Set<Long> ids = items.stream()
+                .map(ProductBulkUpdateData.Item::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<Long, Product> products = findProducts(ids);
+
+        return new ProductBulkResult(items.stream()
+                .map(item -> new ProductBulkResult.Item(item.getId(),
+                        patchProduct(products.get(item.getId()), item)))
+                .collect(Collectors.toList()));
+    }
+
+    public ProductBulkResult deleteProducts(List<Long> ids) {
+        return deleteProducts(ids, null);
+    }
+
+    // 요청한 상품을 한 번에 읽어 엔티티로 지운다. DELETE 는 커밋할 때 JDBC
+    // 배치로 나가고, 단건 삭제처럼 @Version 을 확인하며 2차 캐시에서도 뺀다.
+    // versions 는 ids 와 같은 순서의 버전 목록이고, null 인 항목은 확인하지 않는다.
+    public ProductBulkResult deleteProducts(List<Long> ids, List<Long> versions) {
+        if (versions != null && versions.size() != ids.size()) {
+            throw new InvalidVersionsException(ids.size(), versions.size());
+        }
+
+        Map<Long, Product> products = findProducts(ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+        Set<Long> deleted = new HashSet<>();
+
+        List<ProductBulkResult.Item> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i += 1) {
+            Long id = ids.get(i);
+            Long version = versions == null ? null : versions.get(i);
+            results.add(new ProductBulkResult.Item(id,
+                    deleteProduct(products.get(id), version, deleted)));
+        }
+
+        return new ProductBulkResult(results);
+    }
+
+    private ProductCursor.PriceKey priceKey(
+            String cursor,
+            ProductCursor.PriceKey first
+    ) {
+        return cursor == null ? first : ProductCursor.decodePriceKey(cursor);
+    }
+
+    private ProductBulkResult.Status patchProduct(
+            Product product,
+            ProductBulkUpdateData.Item item
+    ) {
+        if (product == null) {
+            return ProductBulkResult.Status.NOT_FOUND;
+        }
+
+        if (item.getVersion() != null
+                && !item.getVersion().equals(product.getVersion())) {
+            return ProductBulkResult.Status.VERSION_MISMATCH;
+        }
+
+        ProductView previous = ProductView.of(product);
+        productMapper.patchProduct(product, item);
+        publishUpdated(product, previous);
+
+        return ProductBulkResult.Status.UPDATED;
+    }
+
+    // 같은 id 가 여러 번 나오면 처음 지울 때만 버전을 확인한다.
+    private ProductBulkResult.Status deleteProduct(
+            Product product,
+            Long version,
+            Set<Long> deleted
+    ) {
+        if (product == null) {
+            return ProductBulkResult.Status.NOT_FOUND;
+        }
+
+        if (deleted.contains(product.getId())) {
+            return ProductBulkResult.Status.DELETED;
+        }
+
+        if (version != null && !version.equals(product.getVersion())) {
+            return ProductBulkResult.Status.VERSION_MISMATCH;
+        }
+
+        productRepository.delete(product);
+        deleted.add(product.getId());
+        publishDeleted(ProductView.of(product));
+
+        return ProductBulkResult.Status.DELETED;
+    }
+
+    private Map<Long, Product> findProducts(Set<Long> ids) {
+        return Lists.partition(List.copyOf(ids), MAX_IN_CLAUSE_SIZE).stream()
+                .flatMap(partition ->
+                        productRepository.findAllByIdIn(partition).stream())
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    private Product findProduct(Long id, Long expectedVersion) {
+        Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException(id));
+
+        if (expectedVersion != null
+                && !expectedVersion.equals(product.getVersion())) {
+            throw new ProductVersionMismatchException(id);
+        }
+
+        return product;
+    }
+
+    private void publishCreated(Product product) {
+        eventPublisher.publishEvent(new ProductChangedEvent(
+                ProductChangedEvent.Type.CREATED, product.getId(),
+                product.getVersion(), ProductView.of(product), null));
+    }
+
+    // @Version 은 flush 할 때 오르므로, 내용이 바뀌었으면 커밋되는 버전은
+    // 지금 값보다 하나 크다. 바뀐 게 없으면 UPDATE 문이 나가지 않는다.
+    private void publishUpdated(Product product, ProductView previous) {
+        ProductView current = ProductView.of(product);
+        Long version = product.getVersion();
+        if (version != null && !current.equals(previous)) {
+            version += 1;
+        }
+
+        eventPublisher.publishEvent(new ProductChangedEvent(
+                ProductChangedEvent.Type.UPDATED, product.getId(),
+                version, current, previous));
+    }
+
+    private void publishDeleted(ProductView previous) {
+        eventPublisher.publishEvent(new ProductChangedEvent(
+                ProductChangedEvent.Type.DELETED, previous.getId(),
+                null, previous));
     }
 }
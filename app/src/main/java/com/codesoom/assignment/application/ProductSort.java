@@ -0,0 +1,37 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.errors.InvalidSortException;
+
+import java.util.Locale;
+
+// 목록 정렬 방식. 같은 값끼리는 id 로 순서를 정해서 커서가 항상 한 자리를 가리키게 한다.
+public enum ProductSort {
+    ID, PRICE_ASC, PRICE_DESC;
+
+    // "price", "price,asc", "price,desc" 처럼 Spring Data 와 같은 꼴로 받는다.
+    public static ProductSort parse(String sort) {
+        return parse(sort, false);
+    }
+
+    // 가격 범위만 주고 정렬을 고르지 않으면 가격순으로 돌려준다. id 순으로
+    // 범위를 걸면 기본 키를 따라가며 범위 밖의 행을 모두 건너뛰어야 하지만,
+    // 가격순이면 (price, id) 인덱스에서 범위만 읽는다.
+    public static ProductSort parse(String sort, boolean priceRange) {
+        if (sort == null) {
+            return priceRange ? PRICE_ASC : ID;
+        }
+
+        switch (sort.trim().toLowerCase(Locale.ROOT)) {
+            case "id":
+            case "id,asc":
+                return ID;
+            case "price":
+            case "price,asc":
+                return PRICE_ASC;
+            case "price,desc":
+                return PRICE_DESC;
+            default:
+                throw new InvalidSortException(sort);
+        }
+    }
+}
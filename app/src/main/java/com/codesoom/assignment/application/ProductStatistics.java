@@ -0,0 +1,159 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.MakerCount;
+import com.codesoom.assignment.domain.PriceCount;
+import com.codesoom.assignment.domain.ProductRepository;
+import com.codesoom.assignment.domain.ProductView;
+import com.codesoom.assignment.dto.ProductStats;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 상품 개수, 가격 범위와 평균, 제조사별 개수를 메모리에서 유지한다.
+// 변경이 커밋될 때마다 바뀌기 전 내용을 빼고 바뀐 뒤 내용을 더한다.
+// 더하기만 하므로 이벤트가 어떤 순서로 와도 결과가 같다.
+// 이벤트를 놓치거나 이벤트 없이 바뀐 데이터는 주기적으로 데이터베이스와 맞춘다.
+@Component
+public class ProductStatistics {
+    private final ProductRepository productRepository;
+
+    // 이벤트 반영끼리는 동시에 하고, 데이터베이스와 맞추는 동안에만 막는다.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile Counters counters = new Counters();
+
+    public ProductStatistics(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    public ProductStats getStats() {
+        return counters.snapshot();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleProductChanged(ProductChangedEvent event) {
+        lock.readLock().lock();
+        try {
+            Counters current = counters;
+            current.add(event.getPrevious(), -1);
+            current.add(event.getProduct(), 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+            fixedDelayString = "${product.stats.reconcile-interval:PT5M}",
+            initialDelayString = "${product.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        lock.writeLock().lock();
+        try {
+            counters = Counters.load(
+                    productRepository.countByMaker(),
+                    productRepository.countByPrice());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static class Counters {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder pricedCount = new LongAdder();
+        private final LongAdder priceSum = new LongAdder();
+        private final Map<String, LongAdder> makers =
+                new ConcurrentHashMap<>();
+        private final NavigableMap<Integer, LongAdder> prices =
+                new ConcurrentSkipListMap<>();
+
+        // 제조사별 개수를 더하면 전체 개수가 되고, 가격별 개수로 나머지를 구한다.
+        static Counters load(List<MakerCount> makers, List<PriceCount> prices) {
+            Counters counters = new Counters();
+
+            for (MakerCount maker : makers) {
+                counters.count.add(maker.getCount());
+                if (maker.getMaker() != null) {
+                    counters.makers.computeIfAbsent(
+                            maker.getMaker(), key -> new LongAdder())
+                            .add(maker.getCount());
+                }
+            }
+
+            for (PriceCount price : prices) {
+                if (price.getPrice() != null) {
+                    counters.pricedCount.add(price.getCount());
+                    counters.priceSum.add(
+                            price.getCount() * price.getPrice());
+                    counters.prices.computeIfAbsent(
+                            price.getPrice(), key -> new LongAdder())
+                            .add(price.getCount());
+                }
+            }
+
+            return counters;
+        }
+
+        void add(ProductView product, int delta) {
+            if (product == null) {
+                return;
+            }
+
+            count.add(delta);
+
+            if (product.getMaker() != null) {
+                makers.computeIfAbsent(product.getMaker(),
+                        key -> new LongAdder()).add(delta);
+            }
+
+            if (product.getPrice() != null) {
+                pricedCount.add(delta);
+                priceSum.add((long) delta * product.getPrice());
+                prices.computeIfAbsent(product.getPrice(),
+                        key -> new LongAdder()).add(delta);
+            }
+        }
+
+        // 개수가 0 이 된 항목은 다음에 데이터베이스와 맞출 때 없어진다.
+        ProductStats snapshot() {
+            Map<String, Long> makerCounts = new TreeMap<>();
+            makers.forEach((maker, adder) -> {
+                long sum = adder.sum();
+                if (sum > 0) {
+                    makerCounts.put(maker, sum);
+                }
+            });
+
+            long priced = pricedCount.sum();
+
+            return new ProductStats(
+                    count.sum(),
+                    firstPrice(prices),
+                    firstPrice(prices.descendingMap()),
+                    priced > 0 ? (double) priceSum.sum() / priced : null,
+                    makerCounts);
+        }
+
+        private static Integer firstPrice(
+                NavigableMap<Integer, LongAdder> prices
+        ) {
+            for (Map.Entry<Integer, LongAdder> entry : prices.entrySet()) {
+                if (entry.getValue().sum() > 0) {
+                    return entry.getKey();
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.User;
+import com.codesoom.assignment.domain.UserRepository;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+// 가입된 이메일의 블룸 필터. 필터에 없다고 나오면 가입된 적이 없는 주소이므로
+// 중복 확인 쿼리를 건너뛴다. 있다고 나오면(오탐일 수 있다) 데이터베이스에 묻는다.
+// 중복의 최종 판단은 이메일 유니크 인덱스가 한다.
+@Component
+public class RegisteredEmailFilter {
+    private final UserRepository userRepository;
+    private final BloomFilter<CharSequence> emails;
+
+    // 시작할 때 채우기 전에는 모든 주소를 "있을 수 있음"으로 답한다.
+    private volatile boolean ready = false;
+
+    public RegisteredEmailFilter(
+            UserRepository userRepository,
+            @Value("${user.email-filter.expected-insertions:1000000}")
+                    long expectedInsertions,
+            @Value("${user.email-filter.false-positive-rate:0.01}")
+                    double falsePositiveRate
+    ) {
+        this.userRepository = userRepository;
+        this.emails = BloomFilter.create(
+                Funnels.stringFunnel(StandardCharsets.UTF_8),
+                expectedInsertions,
+                falsePositiveRate);
+    }
+
+    // 가입 확인은 정규화한 주소로 묻으므로 저장된 주소도 같은 모양으로 넣는다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        userRepository.findAllEmails().stream()
+                .map(User::normalizeEmail)
+                .forEach(this::put);
+        ready = true;
+    }
+
+    public boolean mightContain(String email) {
+        return !ready || emails.mightContain(email);
+    }
+
+    public void put(String email) {
+        if (email != null) {
+            emails.put(email);
+        }
+    }
+}
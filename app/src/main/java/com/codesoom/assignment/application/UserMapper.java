@@ -0,0 +1,50 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.User;
+import com.codesoom.assignment.dto.UserModificationData;
+import com.codesoom.assignment.dto.UserRegistrationData;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserMapper {
+    private final PasswordEncoder passwordEncoder;
+
+    public UserMapper(PasswordEncoder passwordEncoder) {
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    public User toUser(UserRegistrationData registrationData) {
+        String password = passwordEncoder.encode(registrationData.getPassword());
+
+        return User.builder()
+                .email(User.normalizeEmail(registrationData.getEmail()))
+                .name(registrationData.getName())
+                .password(password)
+                .build();
+    }
+
+    // 비밀번호는 해시만 저장하므로 비워 두고, 패치에 있을 때만 바꾼다.
+    public UserModificationData toModificationData(User user) {
+        return UserModificationData.builder()
+                .name(user.getName())
+                .build();
+    }
+
+    // 해시는 트랜잭션을 열기 전에 미리 계산해 둔다. 바꾸지 않으면 null 이다.
+    public String encodePassword(String password) {
+        return password == null ? null : passwordEncoder.encode(password);
+    }
+
+    public void updateUser(
+            User user,
+            UserModificationData modificationData,
+            String encodedPassword
+    ) {
+        String password = encodedPassword == null
+                ? user.getPassword()
+                : encodedPassword;
+
+        user.change(modificationData.getName(), password);
+    }
+}
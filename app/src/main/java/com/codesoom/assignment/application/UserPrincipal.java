@@ -0,0 +1,24 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.User;
+import lombok.Getter;
+
+// 인증된 요청에서 쓰는 사용자 정보. 엔티티 대신 캐시에 담기 위한 불변 객체다.
+@Getter
+public class UserPrincipal {
+    private final Long id;
+
+    private final String email;
+
+    private final String name;
+
+    public UserPrincipal(Long id, String email, String name) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
+    }
+
+    public static UserPrincipal of(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getName());
+    }
+}
@@ -6,49 +6,133 @@ import com.codesoom.assignment.dto.UserModificationData;
 import com.codesoom.assignment.dto.UserRegistrationData;
 import com.codesoom.assignment.errors.UserEmailDuplicationException;
 import com.codesoom.assignment.errors.UserNotFoundException;
-import com.github.dozermapper.core.Mapper;
+import com.codesoom.assignment.errors.UserVersionMismatchException;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import javax.transaction.Transactional;
-
+// 비밀번호 해시는 트랜잭션을 열기 전에 계산해서, 해시를 기다리는 동안
+// DB 연결을 붙잡고 있지 않게 한다.
 @Service
-@Transactional
 public class UserService {
-    private final Mapper mapper;
+    private final UserMapper userMapper;
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final JsonMergePatcher jsonMergePatcher;
+    private final TransactionTemplate transactionTemplate;
 
-    public UserService(Mapper dozerMapper, UserRepository userRepository) {
-        this.mapper = dozerMapper;
+    public UserService(
+            UserMapper userMapper,
+            UserRepository userRepository,
+            PrincipalCache principalCache,
+            RegisteredEmailFilter registeredEmailFilter,
+            JsonMergePatcher jsonMergePatcher,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.userMapper = userMapper;
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.jsonMergePatcher = jsonMergePatcher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     public User registerUser(UserRegistrationData registrationData) {
-        String email = registrationData.getEmail();
-        if (userRepository.existsByEmail(email)) {
+        String email = User.normalizeEmail(registrationData.getEmail());
+        if (registeredEmailFilter.mightContain(email)
+                && userRepository.existsByEmail(email)) {
             throw new UserEmailDuplicationException(email);
         }
 
-        User user = mapper.map(registrationData, User.class);
-        return userRepository.save(user);
+        User user = userMapper.toUser(registrationData);
+
+        // saveAndFlush 는 자기 트랜잭션에서 실행된다.
+        // 확인과 저장 사이에 같은 주소가 먼저 저장되면 유니크 인덱스가 막는다.
+        try {
+            user = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new UserEmailDuplicationException(email);
+        }
+
+        registeredEmailFilter.put(email);
+
+        return user;
     }
 
     public User updateUser(Long id, UserModificationData modificationData) {
-        User user = findUser(id);
+        return updateUser(id, modificationData, null);
+    }
 
-        User source = mapper.map(modificationData, User.class);
-        user.changeWith(source);
+    // expectedVersion 은 If-Match 로 받은 버전이다. null 이면 확인하지 않는다.
+    public User updateUser(
+            Long id,
+            UserModificationData modificationData,
+            Long expectedVersion
+    ) {
+        String encodedPassword =
+                userMapper.encodePassword(modificationData.getPassword());
 
-        return user;
+        return transactionTemplate.execute(status -> {
+            User user = findUser(id, expectedVersion);
+
+            userMapper.updateUser(user, modificationData, encodedPassword);
+            principalCache.invalidate(id);
+
+            return user;
+        });
+    }
+
+    public User patchUser(Long id, JsonNode patch) {
+        return patchUser(id, patch, null);
     }
 
+    public User patchUser(Long id, JsonNode patch, Long expectedVersion) {
+        JsonNode password = patch.get("password");
+        String encodedPassword = password != null && password.isTextual()
+                ? userMapper.encodePassword(password.asText())
+                : null;
+
+        return transactionTemplate.execute(status -> {
+            User user = findUser(id, expectedVersion);
+
+            UserModificationData modificationData = jsonMergePatcher.apply(
+                    userMapper.toModificationData(user),
+                    patch,
+                    UserModificationData.class);
+
+            userMapper.updateUser(user, modificationData, encodedPassword);
+            principalCache.invalidate(id);
+
+            return user;
+        });
+    }
+
+    @Transactional
     public User deleteUser(Long id) {
-        User user = findUser(id);
+        return deleteUser(id, null);
+    }
+
+    @Transactional
+    public User deleteUser(Long id, Long expectedVersion) {
+        User user = findUser(id, expectedVersion);
         user.destroy();
+        principalCache.invalidate(id);
         return user;
     }
 
-    private User findUser(Long id) {
-        return userRepository.findByIdAndDeletedIsFalse(id)
+    private User findUser(Long id, Long expectedVersion) {
+        User user = userRepository.findByIdAndDeletedIsFalse(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
+
+        if (expectedVersion != null
+                && !expectedVersion.equals(user.getVersion())) {
+            throw new UserVersionMismatchException(id);
+        }
+
+        return user;
     }
 }
@@ -0,0 +1,80 @@
+package com.codesoom.assignment.application;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+
+// 이미 서명을 검증한 토큰의 사용자 id 를 기억해서 같은 토큰이 다시 오면
+// HMAC 검증과 JSON 파싱을 건너뛴다. 토큰 원문 대신 SHA-256 값을 키로 쓰고,
+// 토큰의 만료 시각(exp)이 지나면 캐시에 있어도 쓰지 않는다. exp 가 없는
+// 토큰은 만료를 알 수 없으므로 기억하지 않는다.
+@Component
+public class VerifiedTokenCache {
+    private final Cache<HashCode, VerifiedToken> tokens;
+    private final Clock clock;
+
+    @Autowired
+    public VerifiedTokenCache(
+            @Value("${jwt.cache.maximum-size:10000}") long maximumSize,
+            @Value("${jwt.cache.ttl:10m}") Duration ttl
+    ) {
+        this(maximumSize, ttl, Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(long maximumSize, Duration ttl, Clock clock) {
+        this.tokens = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.clock = clock;
+    }
+
+    public Optional<Long> getUserId(String token) {
+        HashCode digest = digest(token);
+
+        VerifiedToken verifiedToken = tokens.getIfPresent(digest);
+        if (verifiedToken == null) {
+            return Optional.empty();
+        }
+
+        if (verifiedToken.expiresAt <= clock.millis()) {
+            tokens.invalidate(digest);
+            return Optional.empty();
+        }
+
+        return Optional.of(verifiedToken.userId);
+    }
+
+    public void put(String token, Long userId, Date expiration) {
+        if (expiration == null) {
+            return;
+        }
+
+        tokens.put(digest(token),
+                new VerifiedToken(userId, expiration.getTime()));
+    }
+
+    private HashCode digest(String token) {
+        return Hashing.sha256().hashString(token, StandardCharsets.UTF_8);
+    }
+
+    private static class VerifiedToken {
+        private final Long userId;
+        private final long expiresAt;
+
+        VerifiedToken(Long userId, long expiresAt) {
+            this.userId = userId;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
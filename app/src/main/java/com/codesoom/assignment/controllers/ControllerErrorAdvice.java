@@ -1,9 +1,20 @@
 package com.codesoom.assignment.controllers;
 
 import com.codesoom.assignment.dto.ErrorResponse;
+import com.codesoom.assignment.errors.InvalidCursorException;
+import com.codesoom.assignment.errors.InvalidPatchException;
+import com.codesoom.assignment.errors.InvalidFieldsException;
+import com.codesoom.assignment.errors.InvalidSortException;
+import com.codesoom.assignment.errors.InvalidTokenException;
+import com.codesoom.assignment.errors.InvalidVersionsException;
+import com.codesoom.assignment.errors.LoginFailException;
+import com.codesoom.assignment.errors.PasswordHashingBusyException;
 import com.codesoom.assignment.errors.ProductNotFoundException;
+import com.codesoom.assignment.errors.ProductVersionMismatchException;
 import com.codesoom.assignment.errors.UserEmailDuplicationException;
 import com.codesoom.assignment.errors.UserNotFoundException;
+import com.codesoom.assignment.errors.UserVersionMismatchException;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -30,4 +41,70 @@ public class ControllerErrorAdvice {
     public ErrorResponse handleUserEmailIsAlreadyExisted() {
         return new ErrorResponse("User's email address is already existed");
     }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidCursorException.class)
+    public ErrorResponse handleInvalidCursor() {
+        return new ErrorResponse("Invalid cursor");
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidSortException.class)
+    public ErrorResponse handleInvalidSort() {
+        return new ErrorResponse("Invalid sort");
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidFieldsException.class)
+    public ErrorResponse handleInvalidFields() {
+        return new ErrorResponse("Invalid fields");
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(LoginFailException.class)
+    public ErrorResponse handleLoginFailed() {
+        return new ErrorResponse("Log-in failed");
+    }
+
+    @ResponseStatus(HttpStatus.UNAUTHORIZED)
+    @ExceptionHandler(InvalidTokenException.class)
+    public ErrorResponse handleInvalidAccessToken() {
+        return new ErrorResponse("Invalid access token");
+    }
+
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ErrorResponse handlePasswordHashingBusy() {
+        return new ErrorResponse("Too many requests");
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidPatchException.class)
+    public ErrorResponse handleInvalidPatch() {
+        return new ErrorResponse("Invalid patch");
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidVersionsException.class)
+    public ErrorResponse handleInvalidVersions() {
+        return new ErrorResponse("Invalid versions");
+    }
+
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    @ExceptionHandler(ProductVersionMismatchException.class)
+    public ErrorResponse handleProductVersionMismatch() {
+        return new ErrorResponse("Precondition failed");
+    }
+
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    @ExceptionHandler(UserVersionMismatchException.class)
+    public ErrorResponse handleUserVersionMismatch() {
+        return new ErrorResponse("Precondition failed");
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ErrorResponse handleConcurrencyFailure() {
+        return new ErrorResponse("Conflict");
+    }
 }
@@ -0,0 +1,31 @@
+package com.codesoom.assignment.controllers;
+
+import com.codesoom.assignment.application.ProductAutocomplete;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/products/autocomplete")
+@CrossOrigin
+public class ProductAutocompleteController {
+    private final ProductAutocomplete productAutocomplete;
+
+    public ProductAutocompleteController(
+            ProductAutocomplete productAutocomplete
+    ) {
+        this.productAutocomplete = productAutocomplete;
+    }
+
+    @GetMapping
+    public List<String> autocomplete(
+            @RequestParam("q") String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return productAutocomplete.suggest(prefix, limit);
+    }
+}
@@ -1,32 +1,159 @@
 package com.codesoom.assignment.controllers;
 
+import com.codesoom.assignment.application.OptimisticLockRetrier;
+import com.codesoom.assignment.application.ProductSearchIndex;
 import com.codesoom.assignment.application.ProductService;
+import com.codesoom.assignment.application.ProductSort;
+import com.codesoom.assignment.domain.CatalogVersion;
 import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.domain.ProductFields;
+import com.codesoom.assignment.domain.ProductView;
+import com.codesoom.assignment.dto.ProductBulkResult;
+import com.codesoom.assignment.dto.ProductBulkUpdateData;
 import com.codesoom.assignment.dto.ProductData;
+import com.codesoom.assignment.dto.ProductLookupData;
+import com.codesoom.assignment.dto.ProductLookupResult;
+import com.codesoom.assignment.dto.ProductPage;
+import com.codesoom.assignment.errors.ProductVersionMismatchException;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/products")
 @CrossOrigin
 public class ProductController {
+    private static final MediaType JSON =
+            new MediaType(MediaType.APPLICATION_JSON, StandardCharsets.UTF_8);
+    private static final String MERGE_PATCH = "application/merge-patch+json";
+
     private final ProductService productService;
+    private final ProductResponseCache productResponseCache;
+    private final OptimisticLockRetrier optimisticLockRetrier;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductJsonWriter productJsonWriter;
 
-    public ProductController(ProductService productService) {
+    public ProductController(
+            ProductService productService,
+            ProductResponseCache productResponseCache,
+            OptimisticLockRetrier optimisticLockRetrier,
+            ProductSearchIndex productSearchIndex,
+            ProductJsonWriter productJsonWriter
+    ) {
         this.productService = productService;
+        this.productResponseCache = productResponseCache;
+        this.optimisticLockRetrier = optimisticLockRetrier;
+        this.productSearchIndex = productSearchIndex;
+        this.productJsonWriter = productJsonWriter;
+    }
+
+    @GetMapping(params = {
+            "!limit", "!cursor", "!ids", "!minPrice", "!maxPrice", "!sort"})
+    public ResponseEntity<byte[]> list(
+            @RequestParam(required = false) String fields,
+            WebRequest request
+    ) {
+        ProductFields selected = ProductFields.parse(fields);
+
+        CatalogVersion catalogVersion = productService.getCatalogVersion();
+        String eTag = productResponseCache.catalogETag(catalogVersion);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        ProductResponseCache.CachedCatalog catalog = selected.isAll()
+                ? productResponseCache.getCatalog(catalogVersion,
+                        () -> productService.getCatalog(selected))
+                : productResponseCache.getCatalog(catalogVersion, selected,
+                        () -> productService.getCatalog(selected),
+                        products -> productJsonWriter.writeProducts(
+                                products, selected));
+
+        return json(productResponseCache.catalogETag(catalog.getVersion()),
+                catalog.getBody());
     }
 
     @GetMapping
-    public List<Product> list() {
-        return productService.getProducts();
+    public ResponseEntity<?> page(
+            @RequestParam(required = false) Integer minPrice,
+            @RequestParam(required = false) Integer maxPrice,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String fields
+    ) {
+        ProductSort productSort = ProductSort.parse(
+                sort, minPrice != null || maxPrice != null);
+        ProductFields selected = ProductFields.parse(fields);
+
+        if (selected.isAll()) {
+            return ResponseEntity.ok(productService.getProducts(
+                    minPrice, maxPrice, productSort, cursor, limit));
+        }
+
+        ProductPage page = productService.getProducts(
+                minPrice, maxPrice, productSort, cursor, limit, selected);
+        return ResponseEntity.ok()
+                .contentType(JSON)
+                .body(productJsonWriter.writePage(page, selected));
+    }
+
+    @GetMapping(params = "ids")
+    public ProductLookupResult lookup(
+            @RequestParam List<Long> ids
+    ) {
+        return productService.getProducts(ids);
+    }
+
+    // 쿼리 문자열에 다 담기 어려운 긴 목록은 본문으로 받는다. 조회라서 인증을 요구하지 않는다.
+    @PostMapping("lookup")
+    public ProductLookupResult bulkLookup(
+            @RequestBody @Valid ProductLookupData lookupData
+    ) {
+        return productService.getProducts(lookupData.getIds());
+    }
+
+    @GetMapping("search")
+    public List<ProductView> search(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return productSearchIndex.search(query, limit);
     }
 
     @GetMapping("{id}")
-    public Product detail(@PathVariable Long id) {
-        return productService.getProduct(id);
+    public ResponseEntity<byte[]> detail(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            WebRequest request
+    ) {
+        ProductFields selected = ProductFields.parse(fields);
+
+        Long version = productService.getProductVersion(id);
+        String eTag = VersionETag.format(id, version);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        // 필드를 고른 상세는 한 행만 읽으므로 캐시하지 않는다.
+        if (!selected.isAll()) {
+            return json(eTag, productJsonWriter.writeProduct(
+                    productService.getProduct(id, selected), selected));
+        }
+
+        ProductResponseCache.CachedProduct cached =
+                productResponseCache.getProduct(id, version,
+                        () -> productService.getVersionedProduct(id));
+        return json(VersionETag.format(id, cached.getVersion()), cached.getBody());
     }
 
     @PostMapping
@@ -38,18 +165,90 @@ public class ProductController {
     }
 
     @PatchMapping("{id}")
-    public Product update(
+    public ResponseEntity<Product> update(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                    String ifMatch,
             @RequestBody @Valid ProductData productData
     ) {
-        return productService.updateProduct(id, productData);
+        Long expectedVersion = expectedVersion(id, ifMatch);
+        return updated(withRetry(expectedVersion, () ->
+                productService.updateProduct(
+                        id, productData, expectedVersion)));
+    }
+
+    @PatchMapping(path = "{id}", consumes = MERGE_PATCH)
+    public ResponseEntity<Product> patch(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                    String ifMatch,
+            @RequestBody JsonNode patch
+    ) {
+        Long expectedVersion = expectedVersion(id, ifMatch);
+        return updated(withRetry(expectedVersion, () ->
+                productService.patchProduct(id, patch, expectedVersion)));
+    }
+
+    @PatchMapping
+    public ProductBulkResult bulkUpdate(
+            @RequestBody @Valid ProductBulkUpdateData bulkUpdateData
+    ) {
+        return productService.updateProducts(bulkUpdateData.getProducts());
     }
 
     @DeleteMapping("{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void destroy(
-            @PathVariable Long id
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                    String ifMatch
+    ) {
+        Long expectedVersion = expectedVersion(id, ifMatch);
+        withRetry(expectedVersion, () ->
+                productService.deleteProduct(id, expectedVersion));
+    }
+
+    // versions 는 ids 와 같은 순서의 버전 목록이다. 비워 둔 항목은 확인하지 않는다.
+    @DeleteMapping(params = "ids")
+    public ProductBulkResult bulkDestroy(
+            @RequestParam List<Long> ids,
+            @RequestParam(required = false) List<Long> versions
     ) {
-        productService.deleteProduct(id);
+        return productService.deleteProducts(ids, versions);
+    }
+
+    private ResponseEntity<byte[]> json(String eTag, byte[] body) {
+        return ResponseEntity.ok()
+                .contentType(JSON)
+                .eTag(eTag)
+                .body(body);
+    }
+
+    private ResponseEntity<Product> updated(Product product) {
+        if (product.getVersion() == null) {
+            return ResponseEntity.ok(product);
+        }
+
+        return ResponseEntity.ok()
+                .eTag(VersionETag.format(product.getId(), product.getVersion()))
+                .body(product);
+    }
+
+    // If-Match 없이 온 요청은 클라이언트가 버전을 신경 쓰지 않는다는 뜻이므로
+    // 충돌이 나면 서버에서 다시 시도한다. 버전을 지정한 요청은 그대로 실패시킨다.
+    private Product withRetry(
+            Long expectedVersion,
+            Supplier<Product> action
+    ) {
+        if (expectedVersion != null) {
+            return action.get();
+        }
+
+        return optimisticLockRetrier.run(action);
+    }
+
+    private Long expectedVersion(Long id, String ifMatch) {
+        return VersionETag.parse(id, ifMatch,
+                () -> new ProductVersionMismatchException(id));
     }
 }
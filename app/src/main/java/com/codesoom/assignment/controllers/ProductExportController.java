@@ -0,0 +1,57 @@
+package com.codesoom.assignment.controllers;
+
+import com.codesoom.assignment.application.ProductExportService;
+import com.codesoom.assignment.domain.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/products/export")
+@CrossOrigin
+public class ProductExportController {
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final ProductExportService productExportService;
+    private final ObjectWriter writer;
+
+    public ProductExportController(
+            ProductExportService productExportService,
+            ObjectMapper objectMapper
+    ) {
+        this.productExportService = productExportService;
+        this.writer = objectMapper.writerFor(Product.class);
+    }
+
+    @GetMapping
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        ServletOutputStream outputStream = response.getOutputStream();
+
+        productExportService.exportProducts(product -> {
+            try {
+                boolean first = !response.isCommitted();
+                outputStream.write(writer.writeValueAsBytes(product));
+                outputStream.write('\n');
+                if (first) {
+                    outputStream.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        outputStream.flush();
+    }
+}
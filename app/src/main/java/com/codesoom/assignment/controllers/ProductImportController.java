@@ -0,0 +1,33 @@
+package com.codesoom.assignment.controllers;
+
+import com.codesoom.assignment.application.ProductImportService;
+import com.codesoom.assignment.dto.ProductImportResult;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/products/import")
+@CrossOrigin
+public class ProductImportController {
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final ProductImportService productImportService;
+
+    public ProductImportController(
+            ProductImportService productImportService
+    ) {
+        this.productImportService = productImportService;
+    }
+
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON})
+    public ProductImportResult importProducts(HttpServletRequest request)
+            throws IOException {
+        return productImportService.importProducts(request.getInputStream());
+    }
+}
@@ -0,0 +1,110 @@
+package com.codesoom.assignment.controllers;
+
+import com.codesoom.assignment.domain.ProductFields;
+import com.codesoom.assignment.domain.ProductView;
+import com.codesoom.assignment.dto.ProductPage;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+// 고른 필드만 JsonGenerator 로 바로 쓴다. 고른 필드의 이름과 순서,
+// null 을 쓰는 방식은 ObjectMapper 가 ProductView 를 쓸 때와 같다.
+@Component
+public class ProductJsonWriter {
+    private final ObjectMapper objectMapper;
+
+    public ProductJsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public byte[] writeProduct(ProductView product, ProductFields fields) {
+        return write(generator -> writeProduct(generator, product, fields));
+    }
+
+    public byte[] writeProducts(
+            List<ProductView> products,
+            ProductFields fields
+    ) {
+        return write(generator -> writeProducts(generator, products, fields));
+    }
+
+    public byte[] writePage(ProductPage page, ProductFields fields) {
+        return write(generator -> {
+            generator.writeStartObject();
+            generator.writeFieldName("products");
+            writeProducts(generator, page.getProducts(), fields);
+            generator.writeStringField("next", page.getNext());
+            generator.writeEndObject();
+        });
+    }
+
+    private void writeProducts(
+            JsonGenerator generator,
+            List<ProductView> products,
+            ProductFields fields
+    ) throws IOException {
+        generator.writeStartArray();
+        for (ProductView product : products) {
+            writeProduct(generator, product, fields);
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeProduct(
+            JsonGenerator generator,
+            ProductView product,
+            ProductFields fields
+    ) throws IOException {
+        generator.writeStartObject();
+        for (ProductFields.Field field : fields.getFields()) {
+            generator.writeFieldName(field.getProperty());
+            switch (field) {
+                case ID:
+                    writeNumber(generator, product.getId());
+                    break;
+                case NAME:
+                    generator.writeString(product.getName());
+                    break;
+                case MAKER:
+                    generator.writeString(product.getMaker());
+                    break;
+                case PRICE:
+                    writeNumber(generator, product.getPrice());
+                    break;
+                case IMAGE_URL:
+                    generator.writeString(product.getImageUrl());
+                    break;
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeNumber(JsonGenerator generator, Number value)
+            throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value.longValue());
+        }
+    }
+
+    private byte[] write(Body body) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (JsonGenerator generator =
+                     objectMapper.getFactory().createGenerator(output)) {
+            body.writeTo(generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    private interface Body {
+        void writeTo(JsonGenerator generator) throws IOException;
+    }
+}
@@ -0,0 +1,149 @@
+package com.codesoom.assignment.controllers;
+
+import com.codesoom.assignment.application.ProductChangedEvent;
+import com.codesoom.assignment.domain.CatalogVersion;
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.domain.ProductFields;
+import com.codesoom.assignment.domain.ProductView;
+import com.codesoom.assignment.dto.ProductCatalog;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// 상품 상세와 목록을 JSON 으로 인코딩한 바이트 그대로 보관한다.
+// 상세는 상품 버전과, 목록은 카탈로그 버전과 함께 두어서 ETag 를 만든 그
+// 버전의 바이트만 돌려준다. 목록은 ?fields 조합마다 따로 둔다(많아야 31 가지).
+// 카탈로그 버전은 데이터베이스에서 계산한 CatalogVersion 이다. 노드마다 세는
+// 카운터가 아니므로 어느 노드든 같은 데이터에는 같은 ETag 를 주고, 다른 노드의
+// 변경도 다음 요청에서 버전이 달라져 보인다.
+@Component
+public class ProductResponseCache {
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, CachedProduct> products;
+
+    private final Map<ProductFields, CachedCatalog> catalogs =
+            new ConcurrentHashMap<>();
+
+    public ProductResponseCache(
+            ObjectMapper objectMapper,
+            @Value("${product.response-cache.maximum-size:10000}")
+                    long maximumSize
+    ) {
+        this.objectMapper = objectMapper;
+        this.products = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    // 저장된 버전이 요청한 버전과 다르면 다시 읽는다. 읽어 온 상품의 버전이
+    // 요청한 것보다 새로울 수 있으므로 ETag 는 돌려준 값의 버전으로 만든다.
+    public CachedProduct getProduct(
+            Long id,
+            Long version,
+            Supplier<Product> loader
+    ) {
+        CachedProduct cached = products.getIfPresent(id);
+        if (cached != null && Objects.equals(cached.version, version)) {
+            return cached;
+        }
+
+        Product product = loader.get();
+        CachedProduct loaded = new CachedProduct(
+                product.getVersion(), encode(ProductView.of(product)));
+        products.put(id, loaded);
+
+        return loaded;
+    }
+
+    public String catalogETag(CatalogVersion catalogVersion) {
+        return "\"" + base36(catalogVersion.getCount())
+                + "-" + base36(catalogVersion.getVersionSum())
+                + "-" + base36(catalogVersion.getIdSum()) + "\"";
+    }
+
+    public CachedCatalog getCatalog(
+            CatalogVersion catalogVersion,
+            Supplier<ProductCatalog> loader
+    ) {
+        return getCatalog(catalogVersion, ProductFields.ALL, loader,
+                this::encode);
+    }
+
+    // 상품 상세와 같이 저장된 버전이 요청한 버전과 다르면 다시 읽고, 읽어 온
+    // 목록의 버전으로 저장한다. 복제본이 늦으면 옛 목록이 옛 버전으로 저장되므로
+    // 새 버전의 ETag 로 옛 목록을 주는 일은 없다.
+    public CachedCatalog getCatalog(
+            CatalogVersion catalogVersion,
+            ProductFields fields,
+            Supplier<ProductCatalog> loader,
+            Function<List<ProductView>, byte[]> encoder
+    ) {
+        CachedCatalog cached = catalogs.get(fields);
+        if (cached != null && cached.version.equals(catalogVersion)) {
+            return cached;
+        }
+
+        ProductCatalog catalog = loader.get();
+        CachedCatalog loaded = new CachedCatalog(
+                catalog.getVersion(), encoder.apply(catalog.getProducts()));
+        catalogs.put(fields, loaded);
+
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleProductChanged(ProductChangedEvent event) {
+        invalidate(event.getProductId());
+    }
+
+    public void invalidate(Long id) {
+        products.invalidate(id);
+    }
+
+    private static String base36(long value) {
+        return Long.toString(value, Character.MAX_RADIX);
+    }
+
+    private byte[] encode(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Getter
+    public static class CachedProduct {
+        private final Long version;
+        private final byte[] body;
+
+        CachedProduct(Long version, byte[] body) {
+            this.version = version;
+            this.body = body;
+        }
+    }
+
+    @Getter
+    public static class CachedCatalog {
+        private final CatalogVersion version;
+        private final byte[] body;
+
+        CachedCatalog(CatalogVersion version, byte[] body) {
+            this.version = version;
+            this.body = body;
+        }
+    }
+}
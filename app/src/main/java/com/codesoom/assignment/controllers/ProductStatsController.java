@@ -0,0 +1,24 @@
+package com.codesoom.assignment.controllers;
+
+import com.codesoom.assignment.application.ProductStatistics;
+import com.codesoom.assignment.dto.ProductStats;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/products/stats")
+@CrossOrigin
+public class ProductStatsController {
+    private final ProductStatistics productStatistics;
+
+    public ProductStatsController(ProductStatistics productStatistics) {
+        this.productStatistics = productStatistics;
+    }
+
+    @GetMapping
+    public ProductStats stats() {
+        return productStatistics.getStats();
+    }
+}
@@ -0,0 +1,35 @@
+package com.codesoom.assignment.controllers;
+
+import com.codesoom.assignment.application.AuthenticationService;
+import com.codesoom.assignment.dto.SessionRequestData;
+import com.codesoom.assignment.dto.SessionResponseData;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+
+@RestController
+@RequestMapping("/session")
+@CrossOrigin
+public class SessionController {
+    private final AuthenticationService authenticationService;
+
+    public SessionController(AuthenticationService authenticationService) {
+        this.authenticationService = authenticationService;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public SessionResponseData login(
+            @RequestBody @Valid SessionRequestData sessionRequestData
+    ) {
+        String accessToken = authenticationService.login(
+                sessionRequestData.getEmail(),
+                sessionRequestData.getPassword()
+        );
+
+        return SessionResponseData.builder()
+                .accessToken(accessToken)
+                .build();
+    }
+}
@@ -1,45 +1,106 @@
 package com.codesoom.assignment.controllers;
 
+import com.codesoom.assignment.application.OptimisticLockRetrier;
 import com.codesoom.assignment.application.UserService;
 import com.codesoom.assignment.domain.User;
 import com.codesoom.assignment.dto.UserModificationData;
 import com.codesoom.assignment.dto.UserRegistrationData;
 import com.codesoom.assignment.dto.UserResultData;
+import com.codesoom.assignment.errors.UserVersionMismatchException;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/users")
 @CrossOrigin
 public class UserController {
+    private static final String MERGE_PATCH = "application/merge-patch+json";
+
     private final UserService userService;
+    private final OptimisticLockRetrier optimisticLockRetrier;
 
-    public UserController(UserService userService) {
+    public UserController(
+            UserService userService,
+            OptimisticLockRetrier optimisticLockRetrier
+    ) {
         this.userService = userService;
+        this.optimisticLockRetrier = optimisticLockRetrier;
     }
 
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    UserResultData create(@RequestBody @Valid UserRegistrationData registrationData) {
+    ResponseEntity<UserResultData> create(
+            @RequestBody @Valid UserRegistrationData registrationData
+    ) {
         User user = userService.registerUser(registrationData);
-        return getUserResultData(user);
+        return withETag(ResponseEntity.status(HttpStatus.CREATED), user);
     }
 
+    // 상품과 같이 If-Match 로 버전을 확인하고, 없으면 충돌할 때 다시 시도한다.
     @PatchMapping("{id}")
-    UserResultData update(
+    ResponseEntity<UserResultData> update(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                    String ifMatch,
             @RequestBody @Valid UserModificationData modificationData
     ) {
-        User user = userService.updateUser(id, modificationData);
-        return getUserResultData(user);
+        Long expectedVersion = expectedVersion(id, ifMatch);
+        User user = withRetry(expectedVersion, () ->
+                userService.updateUser(id, modificationData, expectedVersion));
+        return withETag(ResponseEntity.ok(), user);
+    }
+
+    @PatchMapping(path = "{id}", consumes = MERGE_PATCH)
+    ResponseEntity<UserResultData> patch(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                    String ifMatch,
+            @RequestBody JsonNode patch
+    ) {
+        Long expectedVersion = expectedVersion(id, ifMatch);
+        User user = withRetry(expectedVersion, () ->
+                userService.patchUser(id, patch, expectedVersion));
+        return withETag(ResponseEntity.ok(), user);
     }
 
     @DeleteMapping("{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    void destroy(@PathVariable Long id) {
-        userService.deleteUser(id);
+    void destroy(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                    String ifMatch
+    ) {
+        Long expectedVersion = expectedVersion(id, ifMatch);
+        withRetry(expectedVersion, () ->
+                userService.deleteUser(id, expectedVersion));
+    }
+
+    private ResponseEntity<UserResultData> withETag(
+            ResponseEntity.BodyBuilder builder,
+            User user
+    ) {
+        if (user.getVersion() != null) {
+            builder.eTag(VersionETag.format(user.getId(), user.getVersion()));
+        }
+        return builder.body(getUserResultData(user));
+    }
+
+    private User withRetry(Long expectedVersion, Supplier<User> action) {
+        if (expectedVersion != null) {
+            return action.get();
+        }
+
+        return optimisticLockRetrier.run(action);
+    }
+
+    private Long expectedVersion(Long id, String ifMatch) {
+        return VersionETag.parse(id, ifMatch,
+                () -> new UserVersionMismatchException(id));
     }
 
     private UserResultData getUserResultData(User user) {
@@ -0,0 +1,43 @@
+package com.codesoom.assignment.controllers;
+
+import java.util.function.Supplier;
+
+// @Version 이 있는 리소스의 ETag. "id-version" 꼴이다.
+final class VersionETag {
+    private VersionETag() {
+    }
+
+    static String format(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    // format 이 만든 꼴만 받는다. If-Match 가 없거나 "*" 면 버전을 묻지 않으므로
+    // null 을 돌려준다.
+    static Long parse(
+            Long id,
+            String ifMatch,
+            Supplier<? extends RuntimeException> mismatch
+    ) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String eTag = ifMatch.trim();
+        if (eTag.startsWith("W/")) {
+            eTag = eTag.substring(2);
+        }
+
+        String prefix = "\"" + id + "-";
+        if (!eTag.startsWith(prefix) || !eTag.endsWith("\"")
+                || eTag.length() <= prefix.length() + 1) {
+            throw mismatch.get();
+        }
+
+        try {
+            return Long.parseLong(
+                    eTag.substring(prefix.length(), eTag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw mismatch.get();
+        }
+    }
+}
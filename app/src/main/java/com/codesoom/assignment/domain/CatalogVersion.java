@@ -0,0 +1,23 @@
+package com.codesoom.assignment.domain;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+// 상품 목록 전체의 버전. 추가·삭제는 개수와 id 합을, 수정은 @Version 의 합을
+// 바꾸므로 목록이 바뀌면 셋 중 하나가 달라진다. 데이터베이스에서 계산하므로
+// 어느 노드에서 읽어도 같은 데이터면 같은 값이다.
+@Getter
+@EqualsAndHashCode
+public class CatalogVersion {
+    private final long count;
+
+    private final long versionSum;
+
+    private final long idSum;
+
+    public CatalogVersion(Long count, Long versionSum, Long idSum) {
+        this.count = count == null ? 0 : count;
+        this.versionSum = versionSum == null ? 0 : versionSum;
+        this.idSum = idSum == null ? 0 : idSum;
+    }
+}
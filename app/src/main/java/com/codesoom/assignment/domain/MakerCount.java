@@ -0,0 +1,15 @@
+package com.codesoom.assignment.domain;
+
+import lombok.Getter;
+
+@Getter
+public class MakerCount {
+    private final String maker;
+
+    private final long count;
+
+    public MakerCount(String maker, Long count) {
+        this.maker = maker;
+        this.count = count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,15 @@
+package com.codesoom.assignment.domain;
+
+import lombok.Getter;
+
+@Getter
+public class PriceCount {
+    private final Integer price;
+
+    private final long count;
+
+    public PriceCount(Integer price, Long count) {
+        this.price = price;
+        this.count = count == null ? 0 : count;
+    }
+}
@@ -16,37 +16,87 @@
 
 package com.codesoom.assignment.domain;
 
+import com.codesoom.assignment.infra.MakerConverter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.annotations.ColumnDefault;
 
+import javax.persistence.Cacheable;
+import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.Version;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
+// 가격 범위와 가격순 목록을 이 인덱스 순서 그대로 읽는다.
+@Table(indexes = @Index(name = "idx_product_price_id", columnList = "price, id"))
 @Getter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
+    // hibernate_sequence 값 하나로 id 50개를 메모리에서 나눠 준다(hi/lo).
+    // 새 id 는 (시퀀스 값 - 1) * 50 + 1 부터 시작하므로 시퀀스가 1씩 증가하던
+    // 기존 데이터베이스의 id 와 겹치지 않는다.
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = "product_id")
+    @GenericGenerator(
+            name = "product_id",
+            strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name",
+                            value = "hibernate_sequence"),
+                    @Parameter(name = "optimizer", value = "hilo"),
+                    @Parameter(name = "increment_size", value = "50")
+            })
     private Long id;
 
     private String name;
 
+    // 같은 제조사 이름이 행마다 반복되지 않도록 maker 사전의 id 로 저장한다.
+    @Convert(converter = MakerConverter.class)
+    @Column(name = "maker_id")
     private String maker;
 
     private Integer price;
 
     private String imageUrl;
 
+    // 내용이 바뀔 때마다 올라가며 ETag 를 만드는 데 쓴다.
+    @Version
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     public void changeWith(Product source) {
-        this.name = source.name;
-        this.maker = source.maker;
-        this.price = source.price;
-        this.imageUrl = source.imageUrl;
+        change(source.name, source.maker, source.price, source.imageUrl);
+    }
+
+    public void change(
+            String name,
+            String maker,
+            Integer price,
+            String imageUrl
+    ) {
+        this.name = name;
+        this.maker = maker;
+        this.price = price;
+        this.imageUrl = imageUrl;
     }
 }
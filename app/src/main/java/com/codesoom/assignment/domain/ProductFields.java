@@ -0,0 +1,97 @@
+package com.codesoom.assignment.domain;
+
+import com.codesoom.assignment.errors.InvalidFieldsException;
+import lombok.EqualsAndHashCode;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+// 응답에 담을 상품 필드. ?fields=id,name,price 꼴로 받는다.
+// 데이터베이스에서도 고른 컬럼만 읽도록 저장소까지 그대로 넘긴다.
+@EqualsAndHashCode
+public class ProductFields {
+    public static final ProductFields ALL =
+            new ProductFields(EnumSet.allOf(Field.class));
+
+    private final Set<Field> fields;
+
+    private ProductFields(EnumSet<Field> fields) {
+        this.fields = Collections.unmodifiableSet(fields);
+    }
+
+    // 없으면 모든 필드. 모르는 이름이 섞이거나 하나도 고르지 않으면 잘못된 요청이다.
+    public static ProductFields parse(String text) {
+        if (text == null) {
+            return ALL;
+        }
+
+        EnumSet<Field> fields = EnumSet.noneOf(Field.class);
+        for (String name : text.split(",")) {
+            fields.add(Field.of(name.trim(), text));
+        }
+        return new ProductFields(fields);
+    }
+
+    public static ProductFields of(Field first, Field... rest) {
+        return new ProductFields(EnumSet.of(first, rest));
+    }
+
+    public boolean isAll() {
+        return fields.size() == Field.values().length;
+    }
+
+    public boolean contains(Field field) {
+        return fields.contains(field);
+    }
+
+    // Field 선언 순서대로 돈다.
+    public Set<Field> getFields() {
+        return fields;
+    }
+
+    public ProductFields with(Field field) {
+        EnumSet<Field> extended = EnumSet.copyOf(fields);
+        extended.add(field);
+        return new ProductFields(extended);
+    }
+
+    // 고르지 않은 필드를 비운 사본을 만든다.
+    public ProductView project(ProductView product) {
+        return new ProductView(
+                contains(Field.ID) ? product.getId() : null,
+                contains(Field.NAME) ? product.getName() : null,
+                contains(Field.MAKER) ? product.getMaker() : null,
+                contains(Field.PRICE) ? product.getPrice() : null,
+                contains(Field.IMAGE_URL) ? product.getImageUrl() : null
+        );
+    }
+
+    public enum Field {
+        ID("id"),
+        NAME("name"),
+        MAKER("maker"),
+        PRICE("price"),
+        IMAGE_URL("imageUrl");
+
+        private final String property;
+
+        Field(String property) {
+            this.property = property;
+        }
+
+        // JSON 속성 이름이자 JPQL 에서 쓰는 Product 속성 이름이다.
+        public String getProperty() {
+            return property;
+        }
+
+        private static Field of(String property, String text) {
+            for (Field field : values()) {
+                if (field.property.equals(property)) {
+                    return field;
+                }
+            }
+            throw new InvalidFieldsException(text);
+        }
+    }
+}
@@ -1,13 +1,68 @@
 package com.codesoom.assignment.domain;
 
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ProductRepository {
     List<Product> findAll();
 
+    List<ProductView> findAllViews();
+
+    List<String> findAllNames();
+
+    List<ProductView> findViewsAfter(Long id, Pageable pageable);
+
+    List<ProductView> findViewsInPriceRangeAfter(
+            Long id, int minPrice, int maxPrice, Pageable pageable);
+
+    List<ProductView> findViewsByPriceAscAfter(
+            int price, Long id, int maxPrice, Pageable pageable);
+
+    List<ProductView> findViewsByPriceDescAfter(
+            int price, Long id, int minPrice, Pageable pageable);
+
+    // 아래는 fields 에 든 컬럼만 읽는 같은 조회다. 빠진 필드는 null 이다.
+    List<ProductView> findAllViews(ProductFields fields);
+
+    List<ProductView> findViewsAfter(
+            Long id, Pageable pageable, ProductFields fields);
+
+    List<ProductView> findViewsInPriceRangeAfter(
+            Long id, int minPrice, int maxPrice, Pageable pageable,
+            ProductFields fields);
+
+    List<ProductView> findViewsByPriceAscAfter(
+            int price, Long id, int maxPrice, Pageable pageable,
+            ProductFields fields);
+
+    List<ProductView> findViewsByPriceDescAfter(
+            int price, Long id, int minPrice, Pageable pageable,
+            ProductFields fields);
+
+    Optional<ProductView> findViewById(Long id, ProductFields fields);
+
+    Stream<Product> streamAll();
+
     Optional<Product> findById(Long id);
 
+    List<Product> findAllByIdIn(Collection<Long> ids);
+
+    Optional<ProductView> findViewById(Long id);
+
+    List<ProductView> findViewsByIdIn(Collection<Long> ids);
+
+    Optional<Long> findVersionById(Long id);
+
+    List<MakerCount> countByMaker();
+
+    List<PriceCount> countByPrice();
+
+    CatalogVersion getCatalogVersion();
+
     Product save(Product product);
 
     void delete(Product product);
@@ -0,0 +1,43 @@
+package com.codesoom.assignment.domain;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+// 조회 전용으로 쓰는 가벼운 상품 정보. 영속성 컨텍스트가 관리하지 않는다.
+@Getter
+@EqualsAndHashCode
+public class ProductView {
+    private final Long id;
+
+    private final String name;
+
+    private final String maker;
+
+    private final Integer price;
+
+    private final String imageUrl;
+
+    public ProductView(
+            Long id,
+            String name,
+            String maker,
+            Integer price,
+            String imageUrl
+    ) {
+        this.id = id;
+        this.name = name;
+        this.maker = maker;
+        this.price = price;
+        this.imageUrl = imageUrl;
+    }
+
+    public static ProductView of(Product product) {
+        return new ProductView(
+                product.getId(),
+                product.getName(),
+                product.getMaker(),
+                product.getPrice(),
+                product.getImageUrl()
+        );
+    }
+}
@@ -4,19 +4,53 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
+import javax.persistence.Cacheable;
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Locale;
+import java.util.regex.Pattern;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = "uk_user_email", columnNames = "email"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 @Getter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
+    private static final Pattern BCRYPT_HASH =
+            Pattern.compile("\\A\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+
+    // id 할당 방식은 Product 와 같다.
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = "user_id")
+    @GenericGenerator(
+            name = "user_id",
+            strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name",
+                            value = "hibernate_sequence"),
+                    @Parameter(name = "optimizer", value = "hilo"),
+                    @Parameter(name = "increment_size", value = "50")
+            })
     private Long id;
 
     private String email;
@@ -28,16 +62,54 @@ public class User {
     @Builder.Default
     private boolean deleted = false;
 
+    // 동시에 들어온 수정·탈퇴 중 하나가 조용히 덮어써지지 않게 한다.
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     public void changeWith(User source) {
-        name = source.name;
-        password = source.password;
+        change(source.name, source.password);
+    }
+
+    public void change(String name, String password) {
+        this.name = name;
+        this.password = password;
+    }
+
+    public void changePassword(String password) {
+        this.password = password;
     }
 
     public void destroy() {
         deleted = true;
     }
 
-    public boolean authenticate(String password) {
-        return !deleted && password.equals(this.password);
+    public boolean authenticate(
+            String password,
+            PasswordEncoder passwordEncoder
+    ) {
+        if (deleted || this.password == null) {
+            return false;
+        }
+
+        if (hasPlainPassword()) {
+            return MessageDigest.isEqual(
+                    password.getBytes(StandardCharsets.UTF_8),
+                    this.password.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return passwordEncoder.matches(password, this.password);
+    }
+
+    // 비밀번호를 해시하기 전에 가입해서 평문이 그대로 남아 있는 사용자.
+    // 로그인에 성공하면 해시로 바꿔 저장한다.
+    public boolean hasPlainPassword() {
+        return password != null && !BCRYPT_HASH.matcher(password).matches();
+    }
+
+    // 대소문자와 앞뒤 공백만 다른 주소는 같은 주소로 본다.
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
     }
 }
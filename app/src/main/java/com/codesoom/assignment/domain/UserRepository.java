@@ -1,10 +1,13 @@
 package com.codesoom.assignment.domain;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository {
     User save(User user);
 
+    User saveAndFlush(User user);
+
     boolean existsByEmail(String email);
 
     Optional<User> findById(Long id);
@@ -12,4 +15,6 @@ public interface UserRepository {
     Optional<User> findByIdAndDeletedIsFalse(Long id);
 
     Optional<User> findByEmail(String email);
+
+    List<String> findAllEmails();
 }
@@ -0,0 +1,24 @@
+package com.codesoom.assignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ProductBulkResult {
+    public enum Status {
+        UPDATED, DELETED, NOT_FOUND, VERSION_MISMATCH
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Item {
+        private final Long id;
+
+        private final Status status;
+    }
+
+    private final List<Item> results;
+}
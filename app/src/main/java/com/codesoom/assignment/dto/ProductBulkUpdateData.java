@@ -0,0 +1,47 @@
+package com.codesoom.assignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkUpdateData {
+    @NotEmpty
+    @Valid
+    private List<Item> products;
+
+    // 바꿀 속성만 담는다. 빠진 속성은 그대로 두고, version 을 주면 그 버전일
+    // 때만 바꾼다.
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private static final String NOT_BLANK = "(?s).*\\S.*";
+
+        @NotNull
+        private Long id;
+
+        @Pattern(regexp = NOT_BLANK, message = "must not be blank")
+        private String name;
+
+        @Pattern(regexp = NOT_BLANK, message = "must not be blank")
+        private String maker;
+
+        private Integer price;
+
+        private String imageUrl;
+
+        private Long version;
+    }
+}
@@ -0,0 +1,16 @@
+package com.codesoom.assignment.dto;
+
+import com.codesoom.assignment.domain.CatalogVersion;
+import com.codesoom.assignment.domain.ProductView;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ProductCatalog {
+    private final CatalogVersion version;
+
+    private final List<ProductView> products;
+}
@@ -1,6 +1,5 @@
 package com.codesoom.assignment.dto;
 
-import com.github.dozermapper.core.Mapping;
 import lombok.*;
 
 import javax.validation.constraints.NotBlank;
@@ -15,17 +14,13 @@ public class ProductData {
     private Long id;
 
     @NotBlank
-    @Mapping("name")
     private String name;
 
     @NotBlank
-    @Mapping("maker")
     private String maker;
 
     @NotNull
-    @Mapping("price")
     private Integer price;
 
-    @Mapping("imageUrl")
     private String imageUrl;
 }
@@ -0,0 +1,12 @@
+package com.codesoom.assignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductImportError {
+    private final int index;
+
+    private final String message;
+}
@@ -0,0 +1,14 @@
+package com.codesoom.assignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ProductImportResult {
+    private final int imported;
+
+    private final List<ProductImportError> errors;
+}
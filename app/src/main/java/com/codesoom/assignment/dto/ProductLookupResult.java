@@ -0,0 +1,15 @@
+package com.codesoom.assignment.dto;
+
+import com.codesoom.assignment.domain.ProductView;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ProductLookupResult {
+    private final List<ProductView> products;
+
+    private final List<Long> missing;
+}
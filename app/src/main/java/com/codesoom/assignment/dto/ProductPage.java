@@ -0,0 +1,17 @@
+package com.codesoom.assignment.dto;
+
+import com.codesoom.assignment.domain.ProductView;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class ProductPage {
+    private List<ProductView> products;
+
+    private String next;
+}
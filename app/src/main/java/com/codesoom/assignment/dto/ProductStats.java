@@ -0,0 +1,20 @@
+package com.codesoom.assignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class ProductStats {
+    private final long count;
+
+    private final Integer minPrice;
+
+    private final Integer maxPrice;
+
+    private final Double averagePrice;
+
+    private final Map<String, Long> makers;
+}
@@ -0,0 +1,18 @@
+package com.codesoom.assignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import javax.validation.constraints.NotBlank;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class SessionRequestData {
+    @NotBlank
+    private String email;
+
+    @NotBlank
+    private String password;
+}
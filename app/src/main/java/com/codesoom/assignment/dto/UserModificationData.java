@@ -1,6 +1,5 @@
 package com.codesoom.assignment.dto;
 
-import com.github.dozermapper.core.Mapping;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -13,11 +12,9 @@ import javax.validation.constraints.Size;
 @AllArgsConstructor
 public class UserModificationData {
     @NotBlank
-    @Mapping("name")
     private String name;
 
     @NotBlank
     @Size(min = 4, max = 1024)
-    @Mapping("password")
     private String password;
 }
@@ -1,6 +1,5 @@
 package com.codesoom.assignment.dto;
 
-import com.github.dozermapper.core.Mapping;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -14,15 +13,12 @@ import javax.validation.constraints.Size;
 public class UserRegistrationData {
     @NotBlank
     @Size(min = 3)
-    @Mapping("email")
     private String email;
 
     @NotBlank
-    @Mapping("name")
     private String name;
 
     @NotBlank
     @Size(min = 4, max = 1024)
-    @Mapping("password")
     private String password;
 }
@@ -0,0 +1,7 @@
+package com.codesoom.assignment.errors;
+
+public class InvalidFieldsException extends RuntimeException {
+    public InvalidFieldsException(String fields) {
+        super("Invalid fields: " + fields);
+    }
+}
@@ -0,0 +1,7 @@
+package com.codesoom.assignment.errors;
+
+public class InvalidPatchException extends RuntimeException {
+    public InvalidPatchException(String message) {
+        super("Invalid patch: " + message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.codesoom.assignment.errors;
+
+public class InvalidSortException extends RuntimeException {
+    public InvalidSortException(String sort) {
+        super("Invalid sort: " + sort);
+    }
+}
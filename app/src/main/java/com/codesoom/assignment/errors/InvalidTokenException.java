@@ -0,0 +1,7 @@
+package com.codesoom.assignment.errors;
+
+public class InvalidTokenException extends RuntimeException {
+    public InvalidTokenException(String token) {
+        super("Invalid token: " + token);
+    }
+}
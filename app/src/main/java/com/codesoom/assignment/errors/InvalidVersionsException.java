@@ -0,0 +1,7 @@
+package com.codesoom.assignment.errors;
+
+public class InvalidVersionsException extends RuntimeException {
+    public InvalidVersionsException(int ids, int versions) {
+        super("Expected " + ids + " versions but got " + versions);
+    }
+}
@@ -0,0 +1,7 @@
+package com.codesoom.assignment.errors;
+
+public class LoginFailException extends RuntimeException {
+    public LoginFailException(String email) {
+        super("Login failed with email: " + email);
+    }
+}
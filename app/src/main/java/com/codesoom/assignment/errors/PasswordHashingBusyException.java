@@ -0,0 +1,7 @@
+package com.codesoom.assignment.errors;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException() {
+        super("Password hashing is busy");
+    }
+}
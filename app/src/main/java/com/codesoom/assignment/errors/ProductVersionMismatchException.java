@@ -0,0 +1,7 @@
+package com.codesoom.assignment.errors;
+
+public class ProductVersionMismatchException extends RuntimeException {
+    public ProductVersionMismatchException(Long id) {
+        super("Product version mismatch: " + id);
+    }
+}
@@ -0,0 +1,7 @@
+package com.codesoom.assignment.errors;
+
+public class UserVersionMismatchException extends RuntimeException {
+    public UserVersionMismatchException(Long id) {
+        super("User version mismatch: " + id);
+    }
+}
@@ -1,18 +1,112 @@
 package com.codesoom.assignment.infra;
 
+import com.codesoom.assignment.domain.CatalogVersion;
+import com.codesoom.assignment.domain.MakerCount;
+import com.codesoom.assignment.domain.PriceCount;
 import com.codesoom.assignment.domain.Product;
 import com.codesoom.assignment.domain.ProductRepository;
+import com.codesoom.assignment.domain.ProductView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface JpaProductRepository
-        extends ProductRepository, CrudRepository<Product, Long> {
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+public interface JpaProductRepository extends ProductRepository,
+        ProductViewProjection, CrudRepository<Product, Long> {
+    String SELECT_VIEW = "select new com.codesoom.assignment.domain" +
+            ".ProductView(p.id, p.name, p.maker, p.price, p.imageUrl)" +
+            " from Product p";
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Product> findAll();
 
+    @Query(SELECT_VIEW + " order by p.id")
+    List<ProductView> findAllViews();
+
+    @Query("select p.name from Product p")
+    List<String> findAllNames();
+
+    @Query(SELECT_VIEW + " where p.id > :id order by p.id")
+    List<ProductView> findViewsAfter(@Param("id") Long id, Pageable pageable);
+
+    // 명시적으로 id 순을 고른 가격 범위 조회. 범위가 좁으면 기본 키를 오래
+    // 따라가야 하므로 정렬을 고르지 않은 범위 조회는 가격순으로 보낸다.
+    @Query(SELECT_VIEW + " where p.id > :id" +
+            " and p.price between :minPrice and :maxPrice order by p.id")
+    List<ProductView> findViewsInPriceRangeAfter(
+            @Param("id") Long id,
+            @Param("minPrice") int minPrice,
+            @Param("maxPrice") int maxPrice,
+            Pageable pageable);
+
+    // 앞의 범위 조건이 (price, id) 인덱스에서 읽기 시작할 자리를 정하고,
+    // 괄호 안의 조건은 같은 가격에서 이미 본 상품만 걸러 낸다.
+    @Query(SELECT_VIEW + " where p.price >= :price and p.price <= :maxPrice" +
+            " and (p.price > :price or p.id > :id)" +
+            " order by p.price asc, p.id asc")
+    List<ProductView> findViewsByPriceAscAfter(
+            @Param("price") int price,
+            @Param("id") Long id,
+            @Param("maxPrice") int maxPrice,
+            Pageable pageable);
+
+    @Query(SELECT_VIEW + " where p.price <= :price and p.price >= :minPrice" +
+            " and (p.price < :price or p.id < :id)" +
+            " order by p.price desc, p.id desc")
+    List<ProductView> findViewsByPriceDescAfter(
+            @Param("price") int price,
+            @Param("id") Long id,
+            @Param("minPrice") int minPrice,
+            Pageable pageable);
+
+    // 전체 내보내기가 2차 캐시의 자주 쓰는 상품을 밀어내지 않도록
+    // 캐시를 읽지도 채우지도 않는다.
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select p from Product p order by p.id")
+    Stream<Product> streamAll();
+
     Optional<Product> findById(Long id);
 
+    List<Product> findAllByIdIn(Collection<Long> ids);
+
+    @Query(SELECT_VIEW + " where p.id = :id")
+    Optional<ProductView> findViewById(@Param("id") Long id);
+
+    @Query(SELECT_VIEW + " where p.id in :ids")
+    List<ProductView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select p.version from Product p where p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select new com.codesoom.assignment.domain.MakerCount(" +
+            "p.maker, count(p)) from Product p group by p.maker")
+    List<MakerCount> countByMaker();
+
+    @Query("select new com.codesoom.assignment.domain.PriceCount(" +
+            "p.price, count(p)) from Product p group by p.price")
+    List<PriceCount> countByPrice();
+
+    @Query("select new com.codesoom.assignment.domain.CatalogVersion(" +
+            "count(p), sum(p.version), sum(p.id)) from Product p")
+    CatalogVersion getCatalogVersion();
+
     Product save(Product product);
 
     void delete(Product product);
@@ -2,19 +2,35 @@ package com.codesoom.assignment.infra;
 
 import com.codesoom.assignment.domain.User;
 import com.codesoom.assignment.domain.UserRepository;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 public interface JpaUserRepository
-        extends UserRepository, CrudRepository<User, Long> {
+        extends UserRepository, JpaRepository<User, Long> {
     User save(User user);
 
+    User saveAndFlush(User user);
+
     boolean existsByEmail(String email);
 
     Optional<User> findById(Long id);
 
+    // 인증할 때 탈퇴 여부를 확인하는 조회라서 복제 지연이 없는 주 데이터베이스에서
+    // 읽는다. 기본값인 읽기 전용 트랜잭션이면 복제본으로 간다.
+    @Transactional
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<User> findByIdAndDeletedIsFalse(Long id);
 
     Optional<User> findByEmail(String email);
+
+    @Query("select u.email from User u")
+    List<String> findAllEmails();
 }
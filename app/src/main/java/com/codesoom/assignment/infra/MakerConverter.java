@@ -0,0 +1,28 @@
+package com.codesoom.assignment.infra;
+
+import org.springframework.stereotype.Component;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+// Product.maker 는 계속 문자열로 다루고 컬럼에는 MakerDictionary 의 id 를 쓴다.
+// Hibernate 가 스프링 빈으로 만들어 쓰므로 사전을 주입받을 수 있다.
+@Component
+@Converter
+public class MakerConverter implements AttributeConverter<String, Integer> {
+    private final MakerDictionary makerDictionary;
+
+    public MakerConverter(MakerDictionary makerDictionary) {
+        this.makerDictionary = makerDictionary;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String maker) {
+        return makerDictionary.idOf(maker);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer makerId) {
+        return makerDictionary.nameOf(makerId);
+    }
+}
@@ -0,0 +1,175 @@
+package com.codesoom.assignment.infra;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// maker 테이블을 메모리에 올려 둔 id <-> 이름 표. 읽어 들인 상품은 모두
+// 여기 있는 이름 인스턴스 하나를 같이 가리킨다.
+// 처음 보는 제조사는 상품을 저장하는 트랜잭션의 연결로 넣는다. 컨버터가
+// flush 도중에 불리므로 연결을 하나 더 빌리거나 전역 락을 잡지 않는다.
+// 그렇게 얻은 id 는 롤백되면 사라지므로 커밋된 뒤에야 표에 올린다.
+@Component
+public class MakerDictionary {
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+
+    public MakerDictionary(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public Integer idOf(String name) {
+        if (name == null) {
+            return null;
+        }
+
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+
+        PendingMakers pending = pendingMakers();
+        if (pending != null && pending.ids.containsKey(name)) {
+            return pending.ids.get(name);
+        }
+        return register(name, pending);
+    }
+
+    public String nameOf(Integer id) {
+        if (id == null) {
+            return null;
+        }
+
+        String name = names.get(id);
+        if (name == null) {
+            PendingMakers pending = pendingMakers();
+            if (pending != null && pending.names.containsKey(id)) {
+                return pending.names.get(id);
+            }
+            reload();
+            name = names.get(id);
+        }
+        if (name == null) {
+            throw new IllegalStateException("Unknown maker id: " + id);
+        }
+        return name;
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    // 다른 인스턴스가 넣은 제조사까지 다시 읽는다. 이 트랜잭션이 넣고 아직
+    // 커밋하지 않은 행은 표에 올리지 않는다.
+    public void reload() {
+        PendingMakers pending = pendingMakers();
+        jdbcTemplate.query("select id, name from maker", resultSet -> {
+            int id = resultSet.getInt(1);
+            if (pending == null || !pending.names.containsKey(id)) {
+                remember(id, resultSet.getString(2));
+            }
+        });
+    }
+
+    private Integer register(String name, PendingMakers pending) {
+        Integer id = find(name);
+        if (id == null) {
+            id = insert(name);
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remember(id, name);
+            return id;
+        }
+
+        if (pending == null) {
+            pending = new PendingMakers();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(id, name);
+        return id;
+    }
+
+    private Integer find(String name) {
+        List<Integer> found = jdbcTemplate.queryForList(
+                "select id from maker where name = ?", Integer.class, name);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    // 다른 트랜잭션이 먼저 넣었으면 유니크 제약에 걸리므로 다시 찾는다.
+    // 그쪽이 아직 커밋하지 않아 보이지 않으면 예외를 그대로 던진다.
+    private Integer insert(String name) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        try {
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        "insert into maker (name) values (?)",
+                        new String[]{"id"});
+                statement.setString(1, name);
+                return statement;
+            }, keyHolder);
+        } catch (DuplicateKeyException e) {
+            Integer id = find(name);
+            if (id == null) {
+                throw e;
+            }
+            return id;
+        }
+        return keyHolder.getKey().intValue();
+    }
+
+    private void remember(Integer id, String name) {
+        String canonical = names.computeIfAbsent(id, key -> name);
+        ids.putIfAbsent(canonical, id);
+    }
+
+    // 동기화 목록은 트랜잭션마다 따로라서 REQUIRES_NEW 로 들어간 안쪽
+    // 트랜잭션은 바깥 트랜잭션이 넣은 제조사를 보지 않는다.
+    private PendingMakers pendingMakers() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+
+        for (TransactionSynchronization synchronization :
+                TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingMakers
+                    && ((PendingMakers) synchronization).owner() == this) {
+                return (PendingMakers) synchronization;
+            }
+        }
+        return null;
+    }
+
+    private class PendingMakers extends TransactionSynchronizationAdapter {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final Map<Integer, String> names = new HashMap<>();
+
+        void add(Integer id, String name) {
+            ids.put(name, id);
+            names.put(id, name);
+        }
+
+        MakerDictionary owner() {
+            return MakerDictionary.this;
+        }
+
+        @Override
+        public void afterCommit() {
+            names.forEach(MakerDictionary.this::remember);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.codesoom.assignment.infra;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+// 제조사 이름을 product.maker 문자열 컬럼에 두던 데이터베이스를 maker 사전과
+// product.maker_id 로 옮긴다. 새 컬럼과 테이블은 ddl-auto 가 먼저 만들어 두므로
+// EntityManagerFactory 가 준비된 다음에 돈다. 웹 서버가 요청을 받기 전에
+// 끝나야 하므로 ApplicationReadyEvent 가 아니라 빈 초기화 때 실행한다.
+// 아직 옮기지 않은 행만 옮기므로 여러 번 돌아도 괜찮다.
+// 옛 컬럼은 기본으로 남겨 두고, maker.migration.drop-legacy-column 을 켰을 때만
+// 모든 행이 옮겨졌는지 확인한 뒤 지운다.
+@Component
+public class MakerMigration {
+    private final JdbcTemplate jdbcTemplate;
+    private final MakerDictionary makerDictionary;
+    private final boolean dropLegacyColumn;
+
+    public MakerMigration(
+            EntityManagerFactory entityManagerFactory,
+            DataSource dataSource,
+            MakerDictionary makerDictionary,
+            @Value("${maker.migration.drop-legacy-column:false}")
+                    boolean dropLegacyColumn
+    ) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.makerDictionary = makerDictionary;
+        this.dropLegacyColumn = dropLegacyColumn;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        if (hasLegacyColumn()) {
+            jdbcTemplate.update("insert into maker (name)" +
+                    " select distinct p.maker from product p" +
+                    " where p.maker is not null" +
+                    " and not exists" +
+                    " (select 1 from maker m where m.name = p.maker)");
+
+            jdbcTemplate.update("update product p" +
+                    " set maker_id =" +
+                    " (select m.id from maker m where m.name = p.maker)" +
+                    " where p.maker_id is null and p.maker is not null");
+
+            if (dropLegacyColumn) {
+                dropLegacyColumn();
+            }
+        }
+
+        makerDictionary.reload();
+    }
+
+    public void dropLegacyColumn() {
+        if (!hasLegacyColumn()) {
+            return;
+        }
+
+        Integer unmigrated = jdbcTemplate.queryForObject(
+                "select count(*) from product" +
+                        " where maker is not null and maker_id is null",
+                Integer.class);
+        if (unmigrated == null || unmigrated > 0) {
+            throw new IllegalStateException(
+                    "Products without maker_id: " + unmigrated);
+        }
+
+        jdbcTemplate.execute("alter table product drop column maker");
+    }
+
+    private boolean hasLegacyColumn() {
+        Integer count = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.columns" +
+                        " where upper(table_name) = 'PRODUCT'" +
+                        " and upper(column_name) = 'MAKER'",
+                Integer.class);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,31 @@
+package com.codesoom.assignment.infra;
+
+import com.codesoom.assignment.domain.ProductFields;
+import com.codesoom.assignment.domain.ProductView;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+
+// 고른 필드에 따라 select 절이 바뀌는 조회. @Query 로는 만들 수 없어서
+// ProductViewProjectionImpl 에서 JPQL 을 조립한다.
+public interface ProductViewProjection {
+    List<ProductView> findAllViews(ProductFields fields);
+
+    List<ProductView> findViewsAfter(
+            Long id, Pageable pageable, ProductFields fields);
+
+    List<ProductView> findViewsInPriceRangeAfter(
+            Long id, int minPrice, int maxPrice, Pageable pageable,
+            ProductFields fields);
+
+    List<ProductView> findViewsByPriceAscAfter(
+            int price, Long id, int maxPrice, Pageable pageable,
+            ProductFields fields);
+
+    List<ProductView> findViewsByPriceDescAfter(
+            int price, Long id, int minPrice, Pageable pageable,
+            ProductFields fields);
+
+    Optional<ProductView> findViewById(Long id, ProductFields fields);
+}
@@ -0,0 +1,118 @@
+package com.codesoom.assignment.infra;
+
+import com.codesoom.assignment.domain.ProductFields;
+import com.codesoom.assignment.domain.ProductFields.Field;
+import com.codesoom.assignment.domain.ProductView;
+import org.springframework.data.domain.Pageable;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+// 조건과 정렬은 JpaProductRepository 의 같은 이름 쿼리와 똑같이 두어서
+// 같은 인덱스를 타게 한다.
+public class ProductViewProjectionImpl implements ProductViewProjection {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductView> findAllViews(ProductFields fields) {
+        return query(fields, " order by p.id", Map.of(), null);
+    }
+
+    @Override
+    public List<ProductView> findViewsAfter(
+            Long id, Pageable pageable, ProductFields fields) {
+        return query(fields, " where p.id > :id order by p.id",
+                Map.of("id", id), pageable);
+    }
+
+    @Override
+    public List<ProductView> findViewsInPriceRangeAfter(
+            Long id, int minPrice, int maxPrice, Pageable pageable,
+            ProductFields fields) {
+        return query(fields, " where p.id > :id" +
+                        " and p.price between :minPrice and :maxPrice" +
+                        " order by p.id",
+                Map.of("id", id, "minPrice", minPrice, "maxPrice", maxPrice),
+                pageable);
+    }
+
+    @Override
+    public List<ProductView> findViewsByPriceAscAfter(
+            int price, Long id, int maxPrice, Pageable pageable,
+            ProductFields fields) {
+        return query(fields, " where p.price >= :price" +
+                        " and p.price <= :maxPrice" +
+                        " and (p.price > :price or p.id > :id)" +
+                        " order by p.price asc, p.id asc",
+                Map.of("price", price, "id", id, "maxPrice", maxPrice),
+                pageable);
+    }
+
+    @Override
+    public List<ProductView> findViewsByPriceDescAfter(
+            int price, Long id, int minPrice, Pageable pageable,
+            ProductFields fields) {
+        return query(fields, " where p.price <= :price" +
+                        " and p.price >= :minPrice" +
+                        " and (p.price < :price or p.id < :id)" +
+                        " order by p.price desc, p.id desc",
+                Map.of("price", price, "id", id, "minPrice", minPrice),
+                pageable);
+    }
+
+    @Override
+    public Optional<ProductView> findViewById(Long id, ProductFields fields) {
+        return query(fields, " where p.id = :id", Map.of("id", id), null)
+                .stream()
+                .findFirst();
+    }
+
+    private List<ProductView> query(
+            ProductFields fields,
+            String condition,
+            Map<String, Object> parameters,
+            Pageable pageable
+    ) {
+        String select = fields.getFields().stream()
+                .map(field -> "p." + field.getProperty())
+                .collect(Collectors.joining(", "));
+
+        TypedQuery<Tuple> query = entityManager.createQuery(
+                "select " + select + " from Product p" + condition,
+                Tuple.class);
+        parameters.forEach(query::setParameter);
+        if (pageable != null) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        return query.getResultList().stream()
+                .map(tuple -> toView(tuple, fields))
+                .collect(Collectors.toList());
+    }
+
+    // select 절은 Field 선언 순서를 따르므로 그 순서대로 꺼낸다.
+    private ProductView toView(Tuple tuple, ProductFields fields) {
+        Object[] values = new Object[Field.values().length];
+        int index = 0;
+        for (Field field : fields.getFields()) {
+            values[field.ordinal()] = tuple.get(index);
+            index += 1;
+        }
+
+        return new ProductView(
+                (Long) values[Field.ID.ordinal()],
+                (String) values[Field.NAME.ordinal()],
+                (String) values[Field.MAKER.ordinal()],
+                (Integer) values[Field.PRICE.ordinal()],
+                (String) values[Field.IMAGE_URL.ordinal()]
+        );
+    }
+}
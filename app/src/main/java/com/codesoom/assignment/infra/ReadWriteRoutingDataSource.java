@@ -0,0 +1,20 @@
+package com.codesoom.assignment.infra;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 읽기 전용 트랜잭션은 복제본으로, 나머지는 주 데이터베이스로 보낸다.
+// 트랜잭션이 시작된 뒤에 연결을 얻어야 하므로 LazyConnectionDataSourceProxy 로
+// 감싸서 써야 한다.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return REPLICA;
+        }
+        return PRIMARY;
+    }
+}
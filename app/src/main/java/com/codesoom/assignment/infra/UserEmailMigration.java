@@ -0,0 +1,44 @@
+package com.codesoom.assignment.infra;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+// 이메일을 정규화하기 전에 가입한 사용자의 주소를 User.normalizeEmail 과 같은
+// 모양(앞뒤 공백 없이 소문자)으로 바꾼다. 유니크 인덱스와 블룸 필터, 로그인
+// 조회가 모두 정규화된 값을 기준으로 하므로 요청을 받기 전에 끝나야 한다.
+// 정규화하면 같아지는 주소가 여럿이면 어느 계정을 남길지 정할 수 없으므로
+// 아무것도 바꾸지 않고 시작을 멈춘다.
+@Component
+public class UserEmailMigration {
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserEmailMigration(
+            EntityManagerFactory entityManagerFactory,
+            DataSource dataSource
+    ) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @PostConstruct
+    public void migrate() {
+        Integer conflicts = jdbcTemplate.queryForObject(
+                "select count(*) from" +
+                        " (select lower(trim(email)) normalized from user" +
+                        " where email is not null" +
+                        " group by lower(trim(email))" +
+                        " having count(*) > 1) conflict",
+                Integer.class);
+        if (conflicts == null || conflicts > 0) {
+            throw new IllegalStateException(
+                    "Emails shared by several users after normalization: "
+                            + conflicts);
+        }
+
+        jdbcTemplate.update("update user set email = lower(trim(email))" +
+                " where email <> lower(trim(email))");
+    }
+}
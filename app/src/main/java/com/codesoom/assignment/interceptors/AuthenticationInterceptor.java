@@ -0,0 +1,47 @@
+package com.codesoom.assignment.interceptors;
+
+import com.codesoom.assignment.application.AuthenticationService;
+import com.codesoom.assignment.errors.InvalidTokenException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Set;
+
+public class AuthenticationInterceptor implements HandlerInterceptor {
+    private static final String BEARER = "Bearer ";
+    private static final Set<String> SAFE_METHODS =
+            Set.of("GET", "HEAD", "OPTIONS");
+
+    private final AuthenticationService authenticationService;
+
+    public AuthenticationInterceptor(
+            AuthenticationService authenticationService
+    ) {
+        this.authenticationService = authenticationService;
+    }
+
+    @Override
+    public boolean preHandle(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler
+    ) {
+        if (SAFE_METHODS.contains(request.getMethod())) {
+            return true;
+        }
+
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER)) {
+            throw new InvalidTokenException(authorization);
+        }
+
+        String accessToken = authorization.substring(BEARER.length());
+        Long userId = authenticationService.parseToken(accessToken);
+
+        request.setAttribute("userId", userId);
+
+        return true;
+    }
+}
@@ -0,0 +1,70 @@
+package com.codesoom.assignment.utils;
+
+import com.codesoom.assignment.errors.InvalidTokenException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Date;
+
+// 발급하는 토큰에는 항상 만료 시각(exp)을 넣고, exp 가 없는 토큰은 받지 않는다.
+@Component
+public class JwtUtil {
+    private final Key key;
+    private final JwtParser parser;
+    private final Duration expiration;
+    private final Clock clock;
+
+    @Autowired
+    public JwtUtil(
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.expiration:24h}") Duration expiration
+    ) {
+        this(secret, expiration, Clock.systemUTC());
+    }
+
+    public JwtUtil(String secret, Duration expiration, Clock clock) {
+        this.key = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .setClock(() -> Date.from(clock.instant()))
+                .build();
+        this.expiration = expiration;
+        this.clock = clock;
+    }
+
+    public String encode(Long userId) {
+        return Jwts.builder()
+                .claim("userId", userId)
+                .setExpiration(Date.from(clock.instant().plus(expiration)))
+                .signWith(key)
+                .compact();
+    }
+
+    public Claims decode(String token) {
+        if (token == null || token.isBlank()) {
+            throw new InvalidTokenException(token);
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException e) {
+            throw new InvalidTokenException(token);
+        }
+
+        if (claims.getExpiration() == null) {
+            throw new InvalidTokenException(token);
+        }
+
+        return claims;
+    }
+}
@@ -0,0 +1,227 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.User;
+import com.codesoom.assignment.domain.UserRepository;
+import com.codesoom.assignment.errors.InvalidTokenException;
+import com.codesoom.assignment.errors.LoginFailException;
+import com.codesoom.assignment.utils.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class AuthenticationServiceTest {
+    private static final String SECRET = "12345678901234567890123456789010";
+
+    private static final Instant NOW = Instant.parse("2020-11-01T00:00:00Z");
+
+    private static final String INVALID_TOKEN = "eyJhbGciOiJIUzI1NiJ9." +
+            "eyJ1c2VySWQiOjF9.ZZ3CUl0jxeLGvQ1Js5nG2Ty5qGTlqai5ubDMXZOdaD0";
+
+    private AuthenticationService authenticationService;
+
+    private String validToken;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private final MutableClock clock = new MutableClock(NOW);
+
+    private final JwtUtil jwtUtil =
+            spy(new JwtUtil(SECRET, Duration.ofHours(1), clock));
+
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    @BeforeEach
+    void setUp() {
+        authenticationService = new AuthenticationService(
+                userRepository,
+                jwtUtil,
+                new VerifiedTokenCache(100, Duration.ofMinutes(10), clock),
+                new PrincipalCache(userRepository, new SimpleMeterRegistry(),
+                        100, Duration.ofMinutes(1)),
+                passwordEncoder
+        );
+
+        given(userRepository.findByEmail("tester@example.com"))
+                .willReturn(Optional.of(
+                        User.builder()
+                                .id(1L)
+                                .email("tester@example.com")
+                                .password(passwordEncoder.encode("test"))
+                                .build()));
+
+        given(userRepository.findByEmail("legacy@example.com"))
+                .willReturn(Optional.of(
+                        User.builder()
+                                .id(2L)
+                                .email("legacy@example.com")
+                                .password("test")
+                                .build()));
+
+        given(userRepository.findByIdAndDeletedIsFalse(1L))
+                .willReturn(Optional.of(
+                        User.builder()
+                                .id(1L)
+                                .email("tester@example.com")
+                                .build()));
+
+        validToken = jwtUtil.encode(1L);
+    }
+
+    @Test
+    void loginWithRightEmailAndPassword() {
+        String accessToken =
+                authenticationService.login("tester@example.com", "test");
+
+        assertThat(jwtUtil.decode(accessToken).get("userId", Long.class))
+                .isEqualTo(1L);
+    }
+
+    @Test
+    void loginWithPlainPassword() {
+        String accessToken =
+                authenticationService.login("legacy@example.com", "test");
+
+        assertThat(jwtUtil.decode(accessToken).get("userId", Long.class))
+                .isEqualTo(2L);
+
+        verify(userRepository).save(argThat(user ->
+                !user.hasPlainPassword()
+                        && passwordEncoder.matches("test", user.getPassword())));
+    }
+
+    @Test
+    void loginWithWrongPlainPassword() {
+        assertThatThrownBy(
+                () -> authenticationService.login("legacy@example.com", "xxx")
+        )
+                .isInstanceOf(LoginFailException.class);
+
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void loginWithHashedPasswordDoesNotSave() {
+        authenticationService.login("tester@example.com", "test");
+
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void loginWithWrongEmail() {
+        assertThatThrownBy(
+                () -> authenticationService.login("badguy@example.com", "test")
+        )
+                .isInstanceOf(LoginFailException.class);
+    }
+
+    @Test
+    void loginWithWrongPassword() {
+        assertThatThrownBy(
+                () -> authenticationService.login("tester@example.com", "xxx")
+        )
+                .isInstanceOf(LoginFailException.class);
+    }
+
+    @Test
+    void parseTokenWithValidToken() {
+        Long userId = authenticationService.parseToken(validToken);
+
+        assertThat(userId).isEqualTo(1L);
+    }
+
+    @Test
+    void parseTokenTwiceVerifiesOnce() {
+        authenticationService.parseToken(validToken);
+        Long userId = authenticationService.parseToken(validToken);
+
+        assertThat(userId).isEqualTo(1L);
+
+        verify(jwtUtil, times(1)).decode(validToken);
+    }
+
+    @Test
+    void parseTokenAfterCachedTokenExpired() {
+        authenticationService.parseToken(validToken);
+
+        clock.advance(Duration.ofHours(2));
+
+        assertThatThrownBy(() -> authenticationService.parseToken(validToken))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void parseTokenWithDeletedUser() {
+        given(userRepository.findByIdAndDeletedIsFalse(1L))
+                .willReturn(Optional.empty());
+
+        assertThatThrownBy(() -> authenticationService.parseToken(validToken))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void parseTokenWithInvalidToken() {
+        assertThatThrownBy(() -> authenticationService.parseToken(INVALID_TOKEN))
+                .isInstanceOf(InvalidTokenException.class);
+
+        assertThatThrownBy(() -> authenticationService.parseToken(INVALID_TOKEN))
+                .isInstanceOf(InvalidTokenException.class);
+
+        verify(jwtUtil, times(2)).decode(INVALID_TOKEN);
+    }
+
+    @Test
+    void parseTokenWithEmptyToken() {
+        assertThatThrownBy(() -> authenticationService.parseToken(null))
+                .isInstanceOf(InvalidTokenException.class);
+
+        assertThatThrownBy(() -> authenticationService.parseToken(""))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.dto.ProductData;
+import com.codesoom.assignment.dto.UserModificationData;
+import com.codesoom.assignment.errors.InvalidPatchException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import javax.validation.Validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonMergePatcherTest {
+    private final ObjectMapper objectMapper =
+            Jackson2ObjectMapperBuilder.json().build();
+
+    private JsonMergePatcher jsonMergePatcher;
+
+    private ProductData productData;
+
+    @BeforeEach
+    void setUp() {
+        jsonMergePatcher = new JsonMergePatcher(
+                objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator());
+
+        productData = ProductData.builder()
+                .name("쥐돌이")
+                .maker("냥이월드")
+                .price(5000)
+                .imageUrl("http://localhost:8080/rat")
+                .build();
+    }
+
+    @Test
+    void applyChangesOnlyPatchedFields() throws Exception {
+        ProductData patched = jsonMergePatcher.apply(
+                productData, json("{\"price\":6000}"), ProductData.class);
+
+        assertThat(patched.getName()).isEqualTo("쥐돌이");
+        assertThat(patched.getMaker()).isEqualTo("냥이월드");
+        assertThat(patched.getPrice()).isEqualTo(6000);
+        assertThat(patched.getImageUrl())
+                .isEqualTo("http://localhost:8080/rat");
+    }
+
+    @Test
+    void applyRemovesNullFields() throws Exception {
+        ProductData patched = jsonMergePatcher.apply(
+                productData, json("{\"imageUrl\":null}"), ProductData.class);
+
+        assertThat(patched.getImageUrl()).isNull();
+        assertThat(patched.getName()).isEqualTo("쥐돌이");
+    }
+
+    @Test
+    void applyWithInvalidPatchedField() {
+        assertThatThrownBy(() -> jsonMergePatcher.apply(
+                productData, json("{\"name\":\"\"}"), ProductData.class))
+                .isInstanceOf(InvalidPatchException.class)
+                .hasMessageContaining("name");
+    }
+
+    @Test
+    void applyValidatesOnlyPatchedFields() throws Exception {
+        // 비밀번호는 보내지 않았으므로 비어 있어도 검증하지 않는다.
+        UserModificationData patched = jsonMergePatcher.apply(
+                UserModificationData.builder().name("Tester").build(),
+                json("{\"name\":\"TEST\"}"),
+                UserModificationData.class);
+
+        assertThat(patched.getName()).isEqualTo("TEST");
+        assertThat(patched.getPassword()).isNull();
+    }
+
+    @Test
+    void applyWithMismatchedType() {
+        assertThatThrownBy(() -> jsonMergePatcher.apply(
+                productData, json("{\"price\":\"free\"}"), ProductData.class))
+                .isInstanceOf(InvalidPatchException.class);
+    }
+
+    @Test
+    void applyWithNonObjectPatch() {
+        assertThatThrownBy(() -> jsonMergePatcher.apply(
+                productData, json("[]"), ProductData.class))
+                .isInstanceOf(InvalidPatchException.class);
+    }
+
+    private JsonNode json(String content) throws Exception {
+        return objectMapper.readTree(content);
+    }
+}
@@ -0,0 +1,136 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.errors.PasswordHashingBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void encodeAndMatches() {
+        passwordHasher = new PasswordHasher(
+                new BCryptPasswordEncoder(4), 2, 2, Duration.ofSeconds(5));
+
+        String encoded = passwordHasher.encode("test");
+
+        assertThat(encoded).isNotEqualTo("test");
+        assertThat(passwordHasher.matches("test", encoded)).isTrue();
+        assertThat(passwordHasher.matches("xxx", encoded)).isFalse();
+    }
+
+    @Test
+    void encodeWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        passwordHasher = new PasswordHasher(
+                new BlockingPasswordEncoder(started, release),
+                1, 1, Duration.ofSeconds(5));
+
+        // 하나는 스레드를 차지하고, 하나는 대기열을 채운다.
+        CompletableFuture<String> running =
+                CompletableFuture.supplyAsync(() -> passwordHasher.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued =
+                CompletableFuture.supplyAsync(() -> passwordHasher.encode("b"));
+        waitUntilQueued();
+
+        assertThatThrownBy(() -> passwordHasher.encode("c"))
+                .isInstanceOf(PasswordHashingBusyException.class);
+
+        release.countDown();
+
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("a");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("b");
+    }
+
+    @Test
+    void encodeWithTimeoutInQueue() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        passwordHasher = new PasswordHasher(
+                new BlockingPasswordEncoder(started, release),
+                1, 1, Duration.ofMillis(50));
+
+        CompletableFuture<String> running =
+                CompletableFuture.supplyAsync(() -> passwordHasher.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 시작하지 못한 작업은 제한 시간이 지나면 대기열에서 빠진다.
+        assertThatThrownBy(() -> passwordHasher.encode("b"))
+                .isInstanceOf(PasswordHashingBusyException.class);
+        assertThat(passwordHasher.queuedTasks()).isZero();
+
+        release.countDown();
+
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("a");
+    }
+
+    // 이미 시작한 해시는 멈출 수 없으므로 제한 시간이 지나도 결과를 기다린다.
+    @Test
+    void encodeRunningPastTimeout() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        passwordHasher = new PasswordHasher(
+                new BlockingPasswordEncoder(started, release),
+                1, 1, Duration.ofMillis(50));
+
+        CompletableFuture<String> running =
+                CompletableFuture.supplyAsync(() -> passwordHasher.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(150);
+        release.countDown();
+
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("a");
+    }
+
+    private void waitUntilQueued() throws InterruptedException {
+        for (int i = 0; i < 500 && passwordHasher.queuedTasks() == 0; i += 1) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static class BlockingPasswordEncoder implements PasswordEncoder {
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+
+        BlockingPasswordEncoder(CountDownLatch started, CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encoded) {
+            return rawPassword.toString().equals(encoded);
+        }
+    }
+}
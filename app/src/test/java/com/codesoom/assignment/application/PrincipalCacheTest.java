@@ -0,0 +1,105 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.User;
+import com.codesoom.assignment.domain.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PrincipalCacheTest {
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(
+                userRepository, meterRegistry, 100, Duration.ofMinutes(1));
+
+        given(userRepository.findByIdAndDeletedIsFalse(1L))
+                .willReturn(Optional.of(
+                        User.builder()
+                                .id(1L)
+                                .email("tester@example.com")
+                                .name("Tester")
+                                .build()));
+
+        given(userRepository.findByIdAndDeletedIsFalse(100L))
+                .willReturn(Optional.empty());
+    }
+
+    @Test
+    void getPrincipalWithExistedUser() {
+        UserPrincipal principal = principalCache.getPrincipal(1L).get();
+
+        assertThat(principal.getId()).isEqualTo(1L);
+        assertThat(principal.getEmail()).isEqualTo("tester@example.com");
+    }
+
+    @Test
+    void getPrincipalTwiceLoadsOnce() {
+        principalCache.getPrincipal(1L);
+        principalCache.getPrincipal(1L);
+
+        verify(userRepository, times(1)).findByIdAndDeletedIsFalse(1L);
+
+        assertThat(meterRegistry.get("cache.gets")
+                .tag("cache", "principals")
+                .tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("principal.cache.lookup")
+                .timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void getPrincipalWithNotExistedUser() {
+        assertThat(principalCache.getPrincipal(100L)).isEmpty();
+        assertThat(principalCache.getPrincipal(100L)).isEmpty();
+
+        verify(userRepository, times(2)).findByIdAndDeletedIsFalse(100L);
+    }
+
+    @Test
+    void getPrincipalAfterInvalidate() {
+        principalCache.getPrincipal(1L);
+
+        given(userRepository.findByIdAndDeletedIsFalse(1L))
+                .willReturn(Optional.empty());
+        principalCache.invalidate(1L);
+
+        assertThat(principalCache.getPrincipal(1L)).isEmpty();
+    }
+
+    @Test
+    void getPrincipalInvalidatedWhileLoading() {
+        User user = User.builder()
+                .id(1L)
+                .email("tester@example.com")
+                .name("Tester")
+                .build();
+
+        // 삭제 전 상태를 읽은 뒤, 캐시에 넣기 전에 삭제가 커밋된 경우
+        given(userRepository.findByIdAndDeletedIsFalse(1L))
+                .willAnswer(invocation -> {
+                    principalCache.invalidate(1L);
+                    return Optional.of(user);
+                })
+                .willReturn(Optional.empty());
+
+        assertThat(principalCache.getPrincipal(1L)).isPresent();
+        assertThat(principalCache.getPrincipal(1L)).isEmpty();
+
+        verify(userRepository, times(2)).findByIdAndDeletedIsFalse(1L);
+    }
+}
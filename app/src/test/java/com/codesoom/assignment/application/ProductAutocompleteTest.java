@@ -0,0 +1,84 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class ProductAutocompleteTest {
+    private final ProductRepository productRepository =
+            mock(ProductRepository.class);
+
+    private ProductAutocomplete productAutocomplete;
+
+    @BeforeEach
+    void setUp() {
+        given(productRepository.findAllNames())
+                .willReturn(List.of("쥐돌이", "쥐순이"))
+                .willReturn(List.of("쥐돌이", "쥐순이", "쥐돌이 2"));
+
+        productAutocomplete = new ProductAutocomplete(productRepository, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productAutocomplete.shutdown();
+    }
+
+    @Test
+    void suggestBeforeRebuild() {
+        assertThat(productAutocomplete.suggest("쥐", 10)).isEmpty();
+    }
+
+    @Test
+    void suggestWithLimit() {
+        productAutocomplete.rebuild();
+
+        assertThat(productAutocomplete.suggest("쥐", 1))
+                .containsExactly("쥐돌이");
+    }
+
+    @Test
+    void scheduleRebuildBuildsInBackground() throws Exception {
+        productAutocomplete.scheduleRebuild();
+
+        verify(productRepository, timeout(1000).times(1)).findAllNames();
+
+        long deadline = System.currentTimeMillis() + 1000;
+        while (productAutocomplete.suggest("쥐", 10).isEmpty()
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(productAutocomplete.suggest("쥐", 10))
+                .containsExactly("쥐돌이", "쥐순이");
+    }
+
+    @Test
+    void handleProductChangedRebuildsInBackground() throws Exception {
+        productAutocomplete.rebuild();
+
+        productAutocomplete.handleProductChanged(new ProductChangedEvent(
+                ProductChangedEvent.Type.CREATED, 3L));
+
+        verify(productRepository, timeout(1000).times(2)).findAllNames();
+
+        // 새 트라이로 바뀌는 것은 이름을 읽은 뒤이므로 잠깐 기다린다.
+        long deadline = System.currentTimeMillis() + 1000;
+        while (productAutocomplete.suggest("쥐돌", 10).size() < 2
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(productAutocomplete.suggest("쥐돌", 10))
+                .containsExactly("쥐돌이", "쥐돌이 2");
+    }
+}
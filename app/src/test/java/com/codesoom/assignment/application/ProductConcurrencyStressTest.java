@@ -0,0 +1,134 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.domain.ProductRepository;
+import com.codesoom.assignment.dto.ProductData;
+import com.codesoom.assignment.errors.ProductVersionMismatchException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 같은 상품 하나를 여러 스레드가 동시에 고쳐도 갱신이 사라지지 않는지 본다.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stress;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class ProductConcurrencyStressTest {
+    private static final int THREADS = 8;
+    private static final int INCREMENTS_PER_THREAD = 25;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OptimisticLockRetrier optimisticLockRetrier;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void concurrentUpdatesWithIfMatchAreNotLost() throws Exception {
+        Long id = createProduct();
+
+        runConcurrently(() -> {
+            while (true) {
+                Product current = readProduct(id);
+                try {
+                    productService.updateProduct(id, ProductData.builder()
+                            .name(current.getName())
+                            .maker(current.getMaker())
+                            .price(current.getPrice() + 1)
+                            .build(), current.getVersion());
+                    return;
+                } catch (ProductVersionMismatchException
+                        | ConcurrencyFailureException e) {
+                    // 최신 버전을 다시 읽어서 다시 시도한다.
+                }
+            }
+        });
+
+        assertThat(readProduct(id).getPrice())
+                .isEqualTo(THREADS * INCREMENTS_PER_THREAD);
+    }
+
+    @Test
+    void concurrentReadModifyWriteWithRetryIsNotLost() throws Exception {
+        Long id = createProduct();
+
+        runConcurrently(() -> {
+            // 재시도 횟수를 넘기면 잃어버린 갱신 대신 예외로 드러나야 하므로
+            // 이 테스트에서는 성공할 때까지 바깥에서 다시 부른다.
+            while (true) {
+                try {
+                    optimisticLockRetrier.run(() ->
+                            transactionTemplate.execute(status -> {
+                                Product product = productRepository
+                                        .findById(id).get();
+                                product.change(product.getName(),
+                                        product.getMaker(),
+                                        product.getPrice() + 1,
+                                        product.getImageUrl());
+                                return product;
+                            }));
+                    return;
+                } catch (ConcurrencyFailureException e) {
+                    // 다음 바퀴에서 다시 읽는다.
+                }
+            }
+        });
+
+        assertThat(readProduct(id).getPrice())
+                .isEqualTo(THREADS * INCREMENTS_PER_THREAD);
+    }
+
+    private Long createProduct() {
+        return productService.createProduct(ProductData.builder()
+                .name("쥐돌이")
+                .maker("냥이월드")
+                .price(0)
+                .build()).getId();
+    }
+
+    private Product readProduct(Long id) {
+        return transactionTemplate.execute(status ->
+                productRepository.findById(id).get());
+    }
+
+    private void runConcurrently(Runnable increment) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i += 1) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < INCREMENTS_PER_THREAD; j += 1) {
+                    increment.run();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,47 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.errors.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductCursorTest {
+    @Test
+    void encodeAndDecode() {
+        String cursor = ProductCursor.encode(42L);
+
+        assertThat(cursor).doesNotContain("42");
+        assertThat(ProductCursor.decode(cursor)).isEqualTo(42L);
+    }
+
+    @Test
+    void decodeWithInvalidCursor() {
+        assertThatThrownBy(() -> ProductCursor.decode("!!!"))
+                .isInstanceOf(InvalidCursorException.class);
+
+        assertThatThrownBy(() -> ProductCursor.decode(
+                ProductCursor.encode(1L) + "x"))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void encodeAndDecodePriceKey() {
+        ProductCursor.PriceKey key = ProductCursor.decodePriceKey(
+                ProductCursor.encode(5000, 42L));
+
+        assertThat(key.getPrice()).isEqualTo(5000);
+        assertThat(key.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void decodeWithCursorOfOtherSort() {
+        assertThatThrownBy(() -> ProductCursor.decodePriceKey(
+                ProductCursor.encode(42L)))
+                .isInstanceOf(InvalidCursorException.class);
+
+        assertThatThrownBy(() -> ProductCursor.decode(
+                ProductCursor.encode(5000, 42L)))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.domain.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ProductExportServiceTest {
+    private ProductExportService productExportService;
+
+    private final ProductRepository productRepository =
+            mock(ProductRepository.class);
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+
+    private Product product1;
+    private Product product2;
+
+    @BeforeEach
+    void setUp() {
+        productExportService =
+                new ProductExportService(productRepository, entityManager);
+
+        product1 = Product.builder().id(1L).name("쥐돌이").build();
+        product2 = Product.builder().id(2L).name("쥐순이").build();
+
+        given(productRepository.streamAll())
+                .willReturn(Stream.of(product1, product2));
+    }
+
+    @Test
+    void exportProducts() {
+        List<Product> exported = new ArrayList<>();
+
+        productExportService.exportProducts(exported::add);
+
+        assertThat(exported).containsExactly(product1, product2);
+
+        verify(entityManager).detach(product1);
+        verify(entityManager).detach(product2);
+    }
+}
@@ -0,0 +1,178 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.dto.ProductImportError;
+import com.codesoom.assignment.dto.ProductImportResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ProductImportServiceTest {
+    private ProductImportService productImportService;
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+
+    private final Session session = mock(Session.class);
+
+    private final PlatformTransactionManager transactionManager =
+            mock(PlatformTransactionManager.class);
+
+    private final ApplicationEventPublisher eventPublisher =
+            mock(ApplicationEventPublisher.class);
+
+    @BeforeEach
+    void setUp() {
+        productImportService = new ProductImportService(
+                new ProductMapper(),
+                entityManager,
+                transactionManager,
+                eventPublisher,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper(),
+                2
+        );
+
+        given(entityManager.unwrap(Session.class)).willReturn(session);
+
+        given(transactionManager.getTransaction(any()))
+                .willReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void importJsonArray() throws IOException {
+        ProductImportResult result = productImportService.importProducts(
+                input("[" + product("쥐돌이") + "," + product("쥐순이") + "," +
+                        product("쥐식이") + "]"));
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getErrors()).isEmpty();
+
+        verify(entityManager, times(3)).persist(any(Product.class));
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(transactionManager, times(2)).commit(any());
+        verify(session, times(2)).setJdbcBatchSize(2);
+        verify(session, times(2)).setCacheMode(CacheMode.IGNORE);
+        verify(eventPublisher, times(3))
+                .publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void importNdjson() throws IOException {
+        ProductImportResult result = productImportService.importProducts(
+                input(product("쥐돌이") + "\n" + product("쥐순이") + "\n"));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).isEmpty();
+
+        verify(entityManager, times(2)).persist(any(Product.class));
+    }
+
+    @Test
+    void importWithInvalidItems() throws IOException {
+        ProductImportResult result = productImportService.importProducts(
+                input(product("쥐돌이") + "\n" +
+                        "{\"name\":\"\",\"maker\":\"냥이월드\",\"price\":5000}\n" +
+                        "{\"name\":\"쥐순이\",\"maker\":\"냥이월드\"," +
+                        "\"price\":\"free\"}\n" +
+                        product("쥐식이") + "\n"));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors())
+                .extracting(ProductImportError::getIndex)
+                .containsExactly(1, 2);
+        assertThat(result.getErrors().get(0).getMessage()).contains("name");
+
+        verify(entityManager, times(2)).persist(any(Product.class));
+    }
+
+    @Test
+    void importWithMalformedJson() throws IOException {
+        ProductImportResult result = productImportService.importProducts(
+                input(product("쥐돌이") + "\n{\"name\":"));
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getErrors())
+                .extracting(ProductImportError::getIndex)
+                .containsExactly(1);
+    }
+
+    @Test
+    void importWithDatabaseFailureInChunk() throws IOException {
+        // 이름이 "거절" 인 상품이 들어간 flush 는 데이터베이스가 거절한다.
+        List<Product> persisted = new ArrayList<>();
+        willAnswer(invocation -> persisted.add(invocation.getArgument(0)))
+                .given(entityManager).persist(any(Product.class));
+        willAnswer(invocation -> {
+            boolean rejected = persisted.stream()
+                    .anyMatch(product -> product.getName().equals("거절"));
+            persisted.clear();
+            if (rejected) {
+                throw new PersistenceException("could not execute batch",
+                        new SQLException("Value too long for column NAME"));
+            }
+            return null;
+        }).given(entityManager).flush();
+
+        ProductImportResult result = productImportService.importProducts(
+                input(product("쥐돌이") + "\n" + product("거절") + "\n" +
+                        product("쥐순이") + "\n"));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors())
+                .extracting(ProductImportError::getIndex)
+                .containsExactly(1);
+        assertThat(result.getErrors().get(0).getMessage())
+                .contains("Value too long");
+
+        verify(transactionManager, times(2)).rollback(any());
+        verify(eventPublisher, times(2))
+                .publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void importEmptyInput() throws IOException {
+        ProductImportResult result =
+                productImportService.importProducts(input(""));
+
+        assertThat(result.getImported()).isZero();
+        assertThat(result.getErrors()).isEmpty();
+
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    private String product(String name) {
+        return "{\"name\":\"" + name + "\",\"maker\":\"냥이월드\"," +
+                "\"price\":5000}";
+    }
+
+    private InputStream input(String content) {
+        return new ByteArrayInputStream(
+                content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,48 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.dto.ProductData;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductMapperTest {
+    private final ProductMapper productMapper = new ProductMapper();
+
+    private final ProductData productData = ProductData.builder()
+            .id(100L)
+            .name("쥐돌이")
+            .maker("냥이월드")
+            .price(5000)
+            .imageUrl("http://localhost:8080/rat")
+            .build();
+
+    @Test
+    void toProduct() {
+        Product product = productMapper.toProduct(productData);
+
+        assertThat(product.getId()).isNull();
+        assertThat(product.getName()).isEqualTo("쥐돌이");
+        assertThat(product.getMaker()).isEqualTo("냥이월드");
+        assertThat(product.getPrice()).isEqualTo(5000);
+        assertThat(product.getImageUrl()).isEqualTo("http://localhost:8080/rat");
+    }
+
+    @Test
+    void updateProduct() {
+        Product product = Product.builder()
+                .id(1L)
+                .name("쥐순이")
+                .maker("코드숨")
+                .price(10000)
+                .build();
+
+        productMapper.updateProduct(product, productData);
+
+        assertThat(product.getId()).isEqualTo(1L);
+        assertThat(product.getName()).isEqualTo("쥐돌이");
+        assertThat(product.getMaker()).isEqualTo("냥이월드");
+        assertThat(product.getPrice()).isEqualTo(5000);
+        assertThat(product.getImageUrl()).isEqualTo("http://localhost:8080/rat");
+    }
+}
@@ -0,0 +1,43 @@
+package com.codesoom.assignment.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductNameTrieTest {
+    private final ProductNameTrie trie = ProductNameTrie.build(List.of(
+            "쥐돌이", "쥐순이", "쥐순이", "쥐", "Cat Tower", "낚싯대"), 2);
+
+    @Test
+    void suggestRanksMoreCommonNamesFirst() {
+        assertThat(trie.suggest("쥐")).containsExactly("쥐순이", "쥐");
+    }
+
+    @Test
+    void suggestWithLongerPrefix() {
+        assertThat(trie.suggest("쥐돌")).containsExactly("쥐돌이");
+    }
+
+    @Test
+    void suggestWhileComposingHangul() {
+        assertThat(trie.suggest("쥐ㄷ")).containsExactly("쥐돌이");
+    }
+
+    @Test
+    void suggestIgnoresCase() {
+        assertThat(trie.suggest("cat")).containsExactly("Cat Tower");
+    }
+
+    @Test
+    void suggestWithUnknownPrefix() {
+        assertThat(trie.suggest("강아지")).isEmpty();
+        assertThat(trie.suggest("")).isEmpty();
+    }
+
+    @Test
+    void emptyTrie() {
+        assertThat(ProductNameTrie.empty().suggest("쥐")).isEmpty();
+    }
+}
@@ -0,0 +1,171 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.ProductRepository;
+import com.codesoom.assignment.domain.ProductView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class ProductSearchIndexTest {
+    private final ProductRepository productRepository =
+            mock(ProductRepository.class);
+
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        given(productRepository.findAllViews()).willReturn(List.of(
+                new ProductView(1L, "쥐돌이", "냥이월드", 5000, null),
+                new ProductView(2L, "낚싯대 장난감", "냥이월드", 3000, null),
+                new ProductView(3L, "Cat Tower", "Meow Co.", 90000, null)));
+
+        productSearchIndex = new ProductSearchIndex(productRepository);
+        productSearchIndex.build();
+    }
+
+    @Test
+    void searchWithPartOfKoreanName() {
+        assertThat(ids(productSearchIndex.search("쥐돌", 20)))
+                .containsExactly(1L);
+    }
+
+    @Test
+    void searchWithMaker() {
+        assertThat(ids(productSearchIndex.search("냥이", 20)))
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    void searchWithSingleCharacter() {
+        assertThat(ids(productSearchIndex.search("쥐", 20)))
+                .containsExactly(1L);
+    }
+
+    @Test
+    void searchIgnoresCase() {
+        assertThat(ids(productSearchIndex.search("TOWER", 20)))
+                .containsExactly(3L);
+    }
+
+    @Test
+    void searchRequiresEveryWord() {
+        assertThat(ids(productSearchIndex.search("냥이 장난감", 20)))
+                .containsExactly(2L);
+    }
+
+    @Test
+    void searchWithScatteredBigrams() {
+        // "돌이" 는 이름에, "이월" 은 제조사에 있지만 "돌이월" 은 어디에도 없다.
+        assertThat(productSearchIndex.search("돌이월", 20)).isEmpty();
+    }
+
+    @Test
+    void searchWithUnknownWord() {
+        assertThat(productSearchIndex.search("강아지", 20)).isEmpty();
+        assertThat(productSearchIndex.search("  ", 20)).isEmpty();
+    }
+
+    @Test
+    void searchWithLimit() {
+        assertThat(ids(productSearchIndex.search("냥이", 1)))
+                .containsExactly(1L);
+    }
+
+    @Test
+    void handleCreatedProduct() {
+        productSearchIndex.handleProductChanged(new ProductChangedEvent(
+                ProductChangedEvent.Type.CREATED, 4L,
+                new ProductView(4L, "쥐순이", "냥이월드", 5000, null)));
+
+        assertThat(ids(productSearchIndex.search("쥐", 20)))
+                .containsExactly(1L, 4L);
+    }
+
+    @Test
+    void handleUpdatedProduct() {
+        productSearchIndex.handleProductChanged(new ProductChangedEvent(
+                ProductChangedEvent.Type.UPDATED, 1L,
+                new ProductView(1L, "쥐순이", "냥이월드", 5000, null)));
+
+        assertThat(productSearchIndex.search("쥐돌", 20)).isEmpty();
+        assertThat(ids(productSearchIndex.search("쥐순", 20)))
+                .containsExactly(1L);
+    }
+
+    @Test
+    void handleUpdatesOutOfCommitOrder() {
+        productSearchIndex.handleProductChanged(new ProductChangedEvent(
+                ProductChangedEvent.Type.UPDATED, 1L, 2L,
+                new ProductView(1L, "쥐순이", "냥이월드", 5000, null), null));
+        productSearchIndex.handleProductChanged(new ProductChangedEvent(
+                ProductChangedEvent.Type.UPDATED, 1L, 1L,
+                new ProductView(1L, "쥐돌이 2", "냥이월드", 5000, null), null));
+
+        assertThat(productSearchIndex.search("쥐돌", 20)).isEmpty();
+        assertThat(ids(productSearchIndex.search("쥐순", 20)))
+                .containsExactly(1L);
+    }
+
+    @Test
+    void handleUpdateAfterDelete() {
+        productSearchIndex.handleProductChanged(new ProductChangedEvent(
+                ProductChangedEvent.Type.DELETED, 1L));
+        productSearchIndex.handleProductChanged(new ProductChangedEvent(
+                ProductChangedEvent.Type.UPDATED, 1L, 1L,
+                new ProductView(1L, "쥐순이", "냥이월드", 5000, null), null));
+
+        assertThat(productSearchIndex.search("쥐", 20)).isEmpty();
+    }
+
+    @Test
+    void handleDeletedProduct() {
+        productSearchIndex.handleProductChanged(new ProductChangedEvent(
+                ProductChangedEvent.Type.DELETED, 1L));
+
+        assertThat(productSearchIndex.search("쥐돌", 20)).isEmpty();
+        assertThat(ids(productSearchIndex.search("냥이", 20)))
+                .containsExactly(2L);
+    }
+
+    @Test
+    void createAndDeleteCyclesReuseDocuments() {
+        int capacity = productSearchIndex.capacity();
+
+        for (long id = 100; id < 100 + capacity * 3L; id += 1) {
+            productSearchIndex.handleProductChanged(new ProductChangedEvent(
+                    ProductChangedEvent.Type.CREATED, id,
+                    new ProductView(id, "쥐순이 " + id, "냥이월드", 5000, null)));
+            productSearchIndex.handleProductChanged(new ProductChangedEvent(
+                    ProductChangedEvent.Type.DELETED, id));
+        }
+
+        assertThat(productSearchIndex.capacity()).isEqualTo(capacity);
+        assertThat(ids(productSearchIndex.search("냥이", 20)))
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    void searchAfterReusingDocument() {
+        productSearchIndex.handleProductChanged(new ProductChangedEvent(
+                ProductChangedEvent.Type.DELETED, 1L));
+        productSearchIndex.handleProductChanged(new ProductChangedEvent(
+                ProductChangedEvent.Type.CREATED, 4L,
+                new ProductView(4L, "쥐순이", "냥이월드", 5000, null)));
+
+        assertThat(ids(productSearchIndex.search("냥이", 20)))
+                .containsExactly(2L, 4L);
+        assertThat(productSearchIndex.search("쥐돌", 20)).isEmpty();
+    }
+
+    private List<Long> ids(List<ProductView> products) {
+        return products.stream()
+                .map(ProductView::getId)
+                .collect(Collectors.toList());
+    }
+}
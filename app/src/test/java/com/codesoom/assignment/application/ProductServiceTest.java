@@ -1,47 +1,94 @@
 package com.codesoom.assignment.application;
 
+import com.codesoom.assignment.domain.CatalogVersion;
 import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.domain.ProductFields;
 import com.codesoom.assignment.domain.ProductRepository;
+import com.codesoom.assignment.domain.ProductView;
+import com.codesoom.assignment.dto.ProductBulkResult;
+import com.codesoom.assignment.dto.ProductBulkUpdateData;
+import com.codesoom.assignment.dto.ProductCatalog;
 import com.codesoom.assignment.dto.ProductData;
+import com.codesoom.assignment.dto.ProductLookupResult;
+import com.codesoom.assignment.dto.ProductPage;
+import com.codesoom.assignment.errors.InvalidCursorException;
+import com.codesoom.assignment.errors.InvalidPatchException;
+import com.codesoom.assignment.errors.InvalidVersionsException;
 import com.codesoom.assignment.errors.ProductNotFoundException;
-import com.github.dozermapper.core.DozerBeanMapperBuilder;
-import com.github.dozermapper.core.Mapper;
+import com.codesoom.assignment.errors.ProductVersionMismatchException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
+import javax.validation.Validation;
+
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 class ProductServiceTest {
+    private final ObjectMapper objectMapper =
+            Jackson2ObjectMapperBuilder.json().build();
+
     private ProductService productService;
 
     private final ProductRepository productRepository =
             mock(ProductRepository.class);
 
+    private final ApplicationEventPublisher eventPublisher =
+            mock(ApplicationEventPublisher.class);
+
     @BeforeEach
     void setUp() {
-        Mapper mapper = DozerBeanMapperBuilder.buildDefault();
-
-        productService = new ProductService(mapper, productRepository);
+        productService = new ProductService(
+                new ProductMapper(),
+                productRepository,
+                eventPublisher,
+                new JsonMergePatcher(objectMapper,
+                        Validation.buildDefaultValidatorFactory().getValidator()));
 
         Product product = Product.builder()
                 .id(1L)
                 .name("쥐돌이")
                 .maker("냥이월드")
                 .price(5000)
+                .version(3L)
                 .build();
 
-        given(productRepository.findAll()).willReturn(List.of(product));
+        given(productRepository.findAllViews())
+                .willReturn(List.of(ProductView.of(product)));
 
         given(productRepository.findById(1L)).willReturn(Optional.of(product));
 
+        given(productRepository.findAllByIdIn(List.of(1L, 1000L)))
+                .willReturn(List.of(product));
+
+        given(productRepository.findViewsByIdIn(List.of(1L, 1000L)))
+                .willReturn(List.of(ProductView.of(product)));
+
+        given(productRepository.findViewsByIdIn(List.of(1000L, 1L)))
+                .willReturn(List.of(ProductView.of(product)));
+
+        given(productRepository.findViewById(1L))
+                .willReturn(Optional.of(ProductView.of(product)));
+
+        given(productRepository.findVersionById(1L)).willReturn(Optional.of(3L));
+
         given(productRepository.save(any(Product.class))).will(invocation -> {
             Product source = invocation.getArgument(0);
             return Product.builder()
@@ -55,36 +102,213 @@ class ProductServiceTest {
 
     @Test
     void getProductsWithNoProduct() {
-        given(productRepository.findAll()).willReturn(List.of());
+        given(productRepository.findAllViews()).willReturn(List.of());
 
         assertThat(productService.getProducts()).isEmpty();
     }
 
     @Test
     void getProducts() {
-        List<Product> products = productService.getProducts();
+        List<ProductView> products = productService.getProducts();
 
         assertThat(products).isNotEmpty();
 
-        Product product = products.get(0);
+        ProductView product = products.get(0);
 
         assertThat(product.getName()).isEqualTo("쥐돌이");
     }
 
+    @Test
+    void getCatalog() {
+        CatalogVersion version = new CatalogVersion(1L, 0L, 1L);
+        given(productRepository.getCatalogVersion()).willReturn(version);
+
+        ProductCatalog catalog = productService.getCatalog(ProductFields.ALL);
+
+        assertThat(catalog.getVersion()).isEqualTo(version);
+        assertThat(catalog.getProducts()).hasSize(1);
+    }
+
+    @Test
+    void getProductsPageWithMoreProducts() {
+        given(productRepository.findViewsAfter(eq(0L), any(Pageable.class)))
+                .willReturn(List.of(
+                        new ProductView(1L, "쥐돌이", "냥이월드", 5000, null),
+                        new ProductView(2L, "쥐순이", "냥이월드", 5000, null),
+                        new ProductView(3L, "범냐옹", "냥이월드", 5000, null)));
+
+        ProductPage page = productService.getProducts(null, 2);
+
+        assertThat(page.getProducts()).hasSize(2);
+        assertThat(page.getNext()).isEqualTo(ProductCursor.encode(2L));
+
+        verify(productRepository).findViewsAfter(0L, PageRequest.of(0, 3));
+    }
+
+    @Test
+    void getProductsPageWithLastProducts() {
+        given(productRepository.findViewsAfter(eq(2L), any(Pageable.class)))
+                .willReturn(List.of(
+                        new ProductView(3L, "범냐옹", "냥이월드", 5000, null)));
+
+        ProductPage page = productService.getProducts(
+                ProductCursor.encode(2L), 2);
+
+        assertThat(page.getProducts()).hasSize(1);
+        assertThat(page.getNext()).isNull();
+    }
+
+    @Test
+    void getProductsPageSortedByPrice() {
+        given(productRepository.findViewsByPriceAscAfter(
+                eq(1000), eq(Long.MIN_VALUE), eq(6000), any(Pageable.class)))
+                .willReturn(List.of(
+                        new ProductView(3L, "범냐옹", "냥이월드", 3000, null),
+                        new ProductView(1L, "쥐돌이", "냥이월드", 5000, null),
+                        new ProductView(2L, "쥐순이", "냥이월드", 5000, null)));
+
+        ProductPage page = productService.getProducts(
+                1000, 6000, ProductSort.PRICE_ASC, null, 2);
+
+        assertThat(page.getProducts()).extracting(ProductView::getId)
+                .containsExactly(3L, 1L);
+        assertThat(page.getNext()).isEqualTo(ProductCursor.encode(5000, 1L));
+    }
+
+    @Test
+    void getProductsPageSortedByPriceDescending() {
+        given(productRepository.findViewsByPriceDescAfter(
+                eq(5000), eq(1L), eq(Integer.MIN_VALUE), any(Pageable.class)))
+                .willReturn(List.of(
+                        new ProductView(3L, "범냐옹", "냥이월드", 3000, null)));
+
+        ProductPage page = productService.getProducts(null, null,
+                ProductSort.PRICE_DESC, ProductCursor.encode(5000, 1L), 2);
+
+        assertThat(page.getProducts()).hasSize(1);
+        assertThat(page.getNext()).isNull();
+    }
+
+    @Test
+    void getProductsPageWithCursorBelowMinPrice() {
+        productService.getProducts(4000, null, ProductSort.PRICE_ASC,
+                ProductCursor.encode(3000, 3L), 2);
+
+        verify(productRepository).findViewsByPriceAscAfter(
+                4000, Long.MIN_VALUE, Integer.MAX_VALUE, PageRequest.of(0, 3));
+    }
+
+    @Test
+    void getProductsPageInPriceRange() {
+        productService.getProducts(1000, 6000, ProductSort.ID, null, 2);
+
+        verify(productRepository).findViewsInPriceRangeAfter(
+                0L, 1000, 6000, PageRequest.of(0, 3));
+        verify(productRepository, never())
+                .findViewsAfter(any(), any(Pageable.class));
+    }
+
+    @Test
+    void getProductsWithFields() {
+        ProductFields fields = ProductFields.parse("id,name");
+
+        productService.getProducts(fields);
+
+        verify(productRepository).findAllViews(fields);
+        verify(productRepository, never()).findAllViews();
+    }
+
+    @Test
+    void getProductsPageWithFieldsAddsCursorFields() {
+        productService.getProducts(null, null, ProductSort.ID, null, 2,
+                ProductFields.parse("name"));
+
+        verify(productRepository).findViewsAfter(0L, PageRequest.of(0, 3),
+                ProductFields.parse("id,name"));
+
+        productService.getProducts(null, null, ProductSort.PRICE_ASC, null, 2,
+                ProductFields.parse("name"));
+
+        verify(productRepository).findViewsByPriceAscAfter(
+                Integer.MIN_VALUE, Long.MIN_VALUE, Integer.MAX_VALUE,
+                PageRequest.of(0, 3), ProductFields.parse("id,name,price"));
+    }
+
+    @Test
+    void getProductsPageWithAllFields() {
+        productService.getProducts(null, null, ProductSort.ID, null, 2,
+                ProductFields.parse("name,maker,price,imageUrl"));
+
+        verify(productRepository).findViewsAfter(0L, PageRequest.of(0, 3));
+    }
+
+    @Test
+    void getProductsPageWithInvalidCursor() {
+        assertThatThrownBy(() -> productService.getProducts("!!!", 2))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
     @Test
     void getProductWithExsitedId() {
-        Product product = productService.getProduct(1L);
+        ProductView product = productService.getProduct(1L);
 
         assertThat(product).isNotNull();
         assertThat(product.getName()).isEqualTo("쥐돌이");
     }
 
+    @Test
+    void getProductWithFields() {
+        ProductFields fields = ProductFields.parse("id,name");
+        given(productRepository.findViewById(1L, fields))
+                .willReturn(Optional.of(
+                        new ProductView(1L, "쥐돌이", null, null, null)));
+
+        ProductView product = productService.getProduct(1L, fields);
+
+        assertThat(product.getName()).isEqualTo("쥐돌이");
+        assertThat(product.getMaker()).isNull();
+        assertThatThrownBy(() -> productService.getProduct(1000L, fields))
+                .isInstanceOf(ProductNotFoundException.class);
+    }
+
     @Test
     void getProductWithNotExsitedId() {
         assertThatThrownBy(() -> productService.getProduct(1000L))
                 .isInstanceOf(ProductNotFoundException.class);
     }
 
+    @Test
+    void getProductsByIds() {
+        ProductLookupResult result =
+                productService.getProducts(Arrays.asList(1000L, 1L, 1000L, null));
+
+        assertThat(result.getProducts()).extracting(ProductView::getId)
+                .containsExactly(1L);
+        assertThat(result.getMissing()).containsExactly(1000L);
+
+        verify(productRepository).findViewsByIdIn(List.of(1000L, 1L));
+    }
+
+    @Test
+    void getProductVersionWithExistedId() {
+        assertThat(productService.getProductVersion(1L)).isEqualTo(3L);
+    }
+
+    @Test
+    void getProductVersionWithNotExistedId() {
+        assertThatThrownBy(() -> productService.getProductVersion(1000L))
+                .isInstanceOf(ProductNotFoundException.class);
+    }
+
+    @Test
+    void getVersionedProduct() {
+        Product product = productService.getVersionedProduct(1L);
+
+        assertThat(product.getVersion()).isEqualTo(3L);
+        assertThatThrownBy(() -> productService.getVersionedProduct(1000L))
+                .isInstanceOf(ProductNotFoundException.class);
+    }
+
     @Test
     void createProduct() {
         ProductData productData = ProductData.builder()
@@ -96,6 +320,7 @@ class ProductServiceTest {
         Product product = productService.createProduct(productData);
 
         verify(productRepository).save(any(Product.class));
+        verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
 
         assertThat(product.getId()).isEqualTo(2L);
         assertThat(product.getName()).isEqualTo("쥐돌이");
@@ -114,6 +339,73 @@ class ProductServiceTest {
 
         assertThat(product.getId()).isEqualTo(1L);
         assertThat(product.getName()).isEqualTo("쥐순이");
+
+        // 커밋할 때 @Version 이 3 에서 4 로 오른다.
+        verify(eventPublisher).publishEvent(argThat(
+                (ProductChangedEvent event) -> event.getVersion().equals(4L)));
+    }
+
+    @Test
+    void patchProductWithoutChange() throws Exception {
+        productService.patchProduct(
+                1L, objectMapper.readTree("{\"price\":5000}"));
+
+        verify(eventPublisher).publishEvent(argThat(
+                (ProductChangedEvent event) -> event.getVersion().equals(3L)));
+    }
+
+    @Test
+    void updateProductWithMatchingVersion() {
+        ProductData productData = ProductData.builder()
+                .name("쥐순이")
+                .maker("냥이월드")
+                .price(5000)
+                .build();
+
+        Product product = productService.updateProduct(1L, productData, 3L);
+
+        assertThat(product.getName()).isEqualTo("쥐순이");
+    }
+
+    @Test
+    void updateProductWithStaleVersion() {
+        ProductData productData = ProductData.builder()
+                .name("쥐순이")
+                .maker("냥이월드")
+                .price(5000)
+                .build();
+
+        assertThatThrownBy(() ->
+                productService.updateProduct(1L, productData, 2L))
+                .isInstanceOf(ProductVersionMismatchException.class);
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void patchProductWithExistedId() throws Exception {
+        Product product = productService.patchProduct(
+                1L, objectMapper.readTree("{\"price\":6000}"));
+
+        assertThat(product.getName()).isEqualTo("쥐돌이");
+        assertThat(product.getMaker()).isEqualTo("냥이월드");
+        assertThat(product.getPrice()).isEqualTo(6000);
+
+        verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void patchProductWithInvalidField() {
+        assertThatThrownBy(() -> productService.patchProduct(
+                1L, objectMapper.readTree("{\"name\":\"\"}")))
+                .isInstanceOf(InvalidPatchException.class);
+    }
+
+    @Test
+    void patchProductWithNotExistedId() {
+        assertThatThrownBy(() -> productService.patchProduct(
+                1000L, objectMapper.readTree("{\"price\":6000}")))
+                .isInstanceOf(ProductNotFoundException.class);
     }
 
     @Test
@@ -133,6 +425,15 @@ class ProductServiceTest {
         productService.deleteProduct(1L);
 
         verify(productRepository).delete(any(Product.class));
+        verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void deleteProductWithStaleVersion() {
+        assertThatThrownBy(() -> productService.deleteProduct(1L, 2L))
+                .isInstanceOf(ProductVersionMismatchException.class);
+
+        verify(productRepository, never()).delete(any(Product.class));
     }
 
     @Test
@@ -140,4 +441,142 @@ class ProductServiceTest {
         assertThatThrownBy(() -> productService.deleteProduct(1000L))
                 .isInstanceOf(ProductNotFoundException.class);
     }
+
+    @Test
+    void updateProducts() {
+        ProductBulkUpdateData.Item existed = ProductBulkUpdateData.Item.builder()
+                .id(1L)
+                .name("쥐순이")
+                .price(6000)
+                .build();
+        ProductBulkUpdateData.Item notExisted = ProductBulkUpdateData.Item.builder()
+                .id(1000L)
+                .price(7000)
+                .build();
+
+        ProductBulkResult result =
+                productService.updateProducts(List.of(existed, notExisted));
+
+        assertThat(result.getResults())
+                .extracting(ProductBulkResult.Item::getStatus)
+                .containsExactly(
+                        ProductBulkResult.Status.UPDATED,
+                        ProductBulkResult.Status.NOT_FOUND);
+
+        Product product = productRepository.findById(1L).get();
+        assertThat(product.getName()).isEqualTo("쥐순이");
+        assertThat(product.getMaker()).isEqualTo("냥이월드");
+        assertThat(product.getPrice()).isEqualTo(6000);
+
+        verify(productRepository).findAllByIdIn(List.of(1L, 1000L));
+        verify(productRepository, never()).findById(1000L);
+        verify(eventPublisher, times(1))
+                .publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void updateProductsWithPriceOnly() {
+        productService.updateProducts(List.of(
+                ProductBulkUpdateData.Item.builder().id(1L).price(4500).build(),
+                ProductBulkUpdateData.Item.builder().id(1000L).price(4500).build()));
+
+        Product product = productRepository.findById(1L).get();
+        assertThat(product.getName()).isEqualTo("쥐돌이");
+        assertThat(product.getMaker()).isEqualTo("냥이월드");
+        assertThat(product.getPrice()).isEqualTo(4500);
+    }
+
+    @Test
+    void updateProductsWithVersion() {
+        ProductBulkResult result = productService.updateProducts(List.of(
+                ProductBulkUpdateData.Item.builder()
+                        .id(1L).price(6000).version(2L).build(),
+                ProductBulkUpdateData.Item.builder()
+                        .id(1000L).price(6000).version(3L).build()));
+
+        assertThat(result.getResults())
+                .extracting(ProductBulkResult.Item::getStatus)
+                .containsExactly(
+                        ProductBulkResult.Status.VERSION_MISMATCH,
+                        ProductBulkResult.Status.NOT_FOUND);
+
+        assertThat(productRepository.findById(1L).get().getPrice())
+                .isEqualTo(5000);
+        verify(eventPublisher, never())
+                .publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void updateProductsWithoutId() {
+        ProductBulkResult result = productService.updateProducts(List.of(
+                ProductBulkUpdateData.Item.builder().name("쥐순이").build()));
+
+        assertThat(result.getResults()).hasSize(1);
+        assertThat(result.getResults().get(0).getStatus())
+                .isEqualTo(ProductBulkResult.Status.NOT_FOUND);
+    }
+
+    @Test
+    void deleteProducts() {
+        ProductBulkResult result =
+                productService.deleteProducts(Arrays.asList(1L, 1000L, 1L));
+
+        assertThat(result.getResults())
+                .extracting(ProductBulkResult.Item::getStatus)
+                .containsExactly(
+                        ProductBulkResult.Status.DELETED,
+                        ProductBulkResult.Status.NOT_FOUND,
+                        ProductBulkResult.Status.DELETED);
+
+        verify(productRepository).delete(any(Product.class));
+        verify(eventPublisher, times(1))
+                .publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void deleteProductsWithVersions() {
+        ProductBulkResult result = productService.deleteProducts(
+                List.of(1L, 1000L), Arrays.asList(2L, null));
+
+        assertThat(result.getResults())
+                .extracting(ProductBulkResult.Item::getStatus)
+                .containsExactly(
+                        ProductBulkResult.Status.VERSION_MISMATCH,
+                        ProductBulkResult.Status.NOT_FOUND);
+
+        verify(productRepository, never()).delete(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void deleteProductsWithMatchingVersion() {
+        ProductBulkResult result = productService.deleteProducts(
+                List.of(1L, 1000L), Arrays.asList(3L, null));
+
+        assertThat(result.getResults().get(0).getStatus())
+                .isEqualTo(ProductBulkResult.Status.DELETED);
+
+        verify(productRepository).delete(any(Product.class));
+    }
+
+    @Test
+    void deleteProductsWithWrongNumberOfVersions() {
+        assertThatThrownBy(() -> productService.deleteProducts(
+                List.of(1L, 1000L), List.of(3L)))
+                .isInstanceOf(InvalidVersionsException.class);
+    }
+
+    @Test
+    void deleteProductsWithNotExistedIds() {
+        given(productRepository.findAllByIdIn(List.of(1000L)))
+                .willReturn(List.of());
+
+        ProductBulkResult result =
+                productService.deleteProducts(List.of(1000L));
+
+        assertThat(result.getResults().get(0).getStatus())
+                .isEqualTo(ProductBulkResult.Status.NOT_FOUND);
+
+        verify(productRepository, never()).delete(any());
+    }
 }
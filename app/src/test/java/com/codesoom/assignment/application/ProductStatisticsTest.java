@@ -0,0 +1,111 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.MakerCount;
+import com.codesoom.assignment.domain.PriceCount;
+import com.codesoom.assignment.domain.ProductRepository;
+import com.codesoom.assignment.domain.ProductView;
+import com.codesoom.assignment.dto.ProductStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class ProductStatisticsTest {
+    private final ProductRepository productRepository =
+            mock(ProductRepository.class);
+
+    private ProductStatistics productStatistics;
+
+    @BeforeEach
+    void setUp() {
+        given(productRepository.countByMaker()).willReturn(List.of(
+                new MakerCount("냥이월드", 2L),
+                new MakerCount("고양이상회", 1L)));
+        given(productRepository.countByPrice()).willReturn(List.of(
+                new PriceCount(3000, 1L),
+                new PriceCount(6000, 2L)));
+
+        productStatistics = new ProductStatistics(productRepository);
+        productStatistics.reconcile();
+    }
+
+    @Test
+    void getStatsAfterReconcile() {
+        ProductStats stats = productStatistics.getStats();
+
+        assertThat(stats.getCount()).isEqualTo(3);
+        assertThat(stats.getMinPrice()).isEqualTo(3000);
+        assertThat(stats.getMaxPrice()).isEqualTo(6000);
+        assertThat(stats.getAveragePrice()).isEqualTo(5000.0);
+        assertThat(stats.getMakers())
+                .isEqualTo(Map.of("냥이월드", 2L, "고양이상회", 1L));
+    }
+
+    @Test
+    void handleCreatedProduct() {
+        productStatistics.handleProductChanged(new ProductChangedEvent(
+                ProductChangedEvent.Type.CREATED, 4L,
+                new ProductView(4L, "쥐돌이", "캣타워", 1000, null)));
+
+        ProductStats stats = productStatistics.getStats();
+
+        assertThat(stats.getCount()).isEqualTo(4);
+        assertThat(stats.getMinPrice()).isEqualTo(1000);
+        assertThat(stats.getMakers()).containsEntry("캣타워", 1L);
+    }
+
+    @Test
+    void handleUpdatedProduct() {
+        productStatistics.handleProductChanged(new ProductChangedEvent(
+                ProductChangedEvent.Type.UPDATED, 1L,
+                new ProductView(1L, "쥐돌이", "고양이상회", 9000, null),
+                new ProductView(1L, "쥐돌이", "냥이월드", 3000, null)));
+
+        ProductStats stats = productStatistics.getStats();
+
+        assertThat(stats.getCount()).isEqualTo(3);
+        assertThat(stats.getMinPrice()).isEqualTo(6000);
+        assertThat(stats.getMaxPrice()).isEqualTo(9000);
+        assertThat(stats.getAveragePrice()).isEqualTo(7000.0);
+        assertThat(stats.getMakers())
+                .isEqualTo(Map.of("냥이월드", 1L, "고양이상회", 2L));
+    }
+
+    @Test
+    void handleDeletedProduct() {
+        productStatistics.handleProductChanged(new ProductChangedEvent(
+                ProductChangedEvent.Type.DELETED, 3L, null,
+                new ProductView(3L, "쥐돌이", "고양이상회", 6000, null)));
+
+        ProductStats stats = productStatistics.getStats();
+
+        assertThat(stats.getCount()).isEqualTo(2);
+        assertThat(stats.getMaxPrice()).isEqualTo(6000);
+        assertThat(stats.getMakers()).isEqualTo(Map.of("냥이월드", 2L));
+    }
+
+    @Test
+    void reconcileCorrectsDrift() {
+        // 바뀌기 전 내용이 없는 이벤트는 반영할 수 없어서 어긋난다.
+        productStatistics.handleProductChanged(new ProductChangedEvent(
+                ProductChangedEvent.Type.DELETED, 3L));
+        given(productRepository.countByMaker()).willReturn(List.of(
+                new MakerCount("냥이월드", 2L)));
+        given(productRepository.countByPrice()).willReturn(List.of(
+                new PriceCount(3000, 1L),
+                new PriceCount(6000, 1L)));
+
+        productStatistics.reconcile();
+
+        ProductStats stats = productStatistics.getStats();
+
+        assertThat(stats.getCount()).isEqualTo(2);
+        assertThat(stats.getAveragePrice()).isEqualTo(4500.0);
+        assertThat(stats.getMakers()).isEqualTo(Map.of("냥이월드", 2L));
+    }
+}
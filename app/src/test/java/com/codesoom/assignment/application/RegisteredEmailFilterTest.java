@@ -0,0 +1,60 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class RegisteredEmailFilterTest {
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @BeforeEach
+    void setUp() {
+        given(userRepository.findAllEmails())
+                .willReturn(List.of("existed@example.com", " Legacy@Example.COM"));
+
+        registeredEmailFilter =
+                new RegisteredEmailFilter(userRepository, 1000, 0.01);
+    }
+
+    @Test
+    void mightContainBeforeWarmUp() {
+        assertThat(registeredEmailFilter.mightContain("new@example.com"))
+                .isTrue();
+    }
+
+    @Test
+    void mightContainAfterWarmUp() {
+        registeredEmailFilter.warmUp();
+
+        assertThat(registeredEmailFilter.mightContain("existed@example.com"))
+                .isTrue();
+        assertThat(registeredEmailFilter.mightContain("new@example.com"))
+                .isFalse();
+    }
+
+    @Test
+    void mightContainNormalizedLegacyEmailAfterWarmUp() {
+        registeredEmailFilter.warmUp();
+
+        assertThat(registeredEmailFilter.mightContain("legacy@example.com"))
+                .isTrue();
+    }
+
+    @Test
+    void mightContainAfterPut() {
+        registeredEmailFilter.warmUp();
+
+        registeredEmailFilter.put("new@example.com");
+
+        assertThat(registeredEmailFilter.mightContain("new@example.com"))
+                .isTrue();
+    }
+}
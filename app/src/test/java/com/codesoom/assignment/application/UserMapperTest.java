@@ -0,0 +1,67 @@
+package com.codesoom.assignment.application;
+
+import com.codesoom.assignment.domain.User;
+import com.codesoom.assignment.dto.UserModificationData;
+import com.codesoom.assignment.dto.UserRegistrationData;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserMapperTest {
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    private final UserMapper userMapper = new UserMapper(passwordEncoder);
+
+    @Test
+    void toUser() {
+        User user = userMapper.toUser(UserRegistrationData.builder()
+                .email("tester@example.com")
+                .name("Tester")
+                .password("test")
+                .build());
+
+        assertThat(user.getId()).isNull();
+        assertThat(user.getEmail()).isEqualTo("tester@example.com");
+        assertThat(user.getName()).isEqualTo("Tester");
+        assertThat(passwordEncoder.matches("test", user.getPassword())).isTrue();
+        assertThat(user.isDeleted()).isFalse();
+    }
+
+    @Test
+    void updateUser() {
+        User user = User.builder()
+                .id(1L)
+                .email("tester@example.com")
+                .name("Tester")
+                .password("test")
+                .build();
+
+        userMapper.updateUser(user, UserModificationData.builder()
+                .name("TEST")
+                .password("TEST")
+                .build(), userMapper.encodePassword("TEST"));
+
+        assertThat(user.getId()).isEqualTo(1L);
+        assertThat(user.getEmail()).isEqualTo("tester@example.com");
+        assertThat(user.getName()).isEqualTo("TEST");
+        assertThat(passwordEncoder.matches("TEST", user.getPassword())).isTrue();
+    }
+
+    @Test
+    void updateUserWithoutPassword() {
+        User user = User.builder()
+                .id(1L)
+                .name("Tester")
+                .password("hashed")
+                .build();
+
+        userMapper.updateUser(user, UserModificationData.builder()
+                .name("TEST")
+                .build(), userMapper.encodePassword(null));
+
+        assertThat(user.getName()).isEqualTo("TEST");
+        assertThat(user.getPassword()).isEqualTo("hashed");
+    }
+}
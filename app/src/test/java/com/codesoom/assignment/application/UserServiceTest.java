@@ -6,39 +6,79 @@ import com.codesoom.assignment.dto.UserModificationData;
 import com.codesoom.assignment.dto.UserRegistrationData;
 import com.codesoom.assignment.errors.UserEmailDuplicationException;
 import com.codesoom.assignment.errors.UserNotFoundException;
-import com.github.dozermapper.core.DozerBeanMapperBuilder;
-import com.github.dozermapper.core.Mapper;
+import com.codesoom.assignment.errors.UserVersionMismatchException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.mockito.InOrder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import javax.validation.Validation;
+
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 
 class UserServiceTest {
     private static final String EXISTED_EMAIL_ADDRESS = "existed@example.com";
+    private static final String RACED_EMAIL_ADDRESS = "raced@example.com";
     private static final Long DELETED_USER_ID = 200L;
 
+    private final ObjectMapper objectMapper =
+            Jackson2ObjectMapperBuilder.json().build();
+
     private UserService userService;
 
     private final UserRepository userRepository = mock(UserRepository.class);
 
+    private final PrincipalCache principalCache = mock(PrincipalCache.class);
+
+    private final PasswordEncoder passwordEncoder =
+            spy(new BCryptPasswordEncoder(4));
+
+    private final PlatformTransactionManager transactionManager =
+            mock(PlatformTransactionManager.class);
+
     @BeforeEach
     void setUp() {
-        Mapper mapper = DozerBeanMapperBuilder.buildDefault();
-
-        userService = new UserService(mapper, userRepository);
+        given(userRepository.findAllEmails())
+                .willReturn(List.of(EXISTED_EMAIL_ADDRESS));
+
+        RegisteredEmailFilter registeredEmailFilter =
+                new RegisteredEmailFilter(userRepository, 1000, 0.01);
+        registeredEmailFilter.warmUp();
+
+        userService = new UserService(
+                new UserMapper(passwordEncoder),
+                userRepository,
+                principalCache,
+                registeredEmailFilter,
+                new JsonMergePatcher(objectMapper,
+                        Validation.buildDefaultValidatorFactory().getValidator()),
+                transactionManager);
 
         given(userRepository.existsByEmail(EXISTED_EMAIL_ADDRESS))
                 .willReturn(true);
 
-        given(userRepository.save(any(User.class))).will(invocation -> {
+        given(userRepository.saveAndFlush(any(User.class))).will(invocation -> {
             User source = invocation.getArgument(0);
+            if (source.getEmail().equals(RACED_EMAIL_ADDRESS)) {
+                throw new DataIntegrityViolationException("uk_user_email");
+            }
             return User.builder()
                     .id(13L)
                     .email(source.getEmail())
@@ -53,6 +93,7 @@ class UserServiceTest {
                                 .email(EXISTED_EMAIL_ADDRESS)
                                 .name("Tester")
                                 .password("test")
+                                .version(3L)
                                 .build()));
 
         given(userRepository.findByIdAndDeletedIsFalse(100L))
@@ -76,7 +117,21 @@ class UserServiceTest {
         assertThat(user.getEmail()).isEqualTo("tester@example.com");
         assertThat(user.getName()).isEqualTo("Tester");
 
-        verify(userRepository).save(any(User.class));
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userRepository).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    void registerUserWithUnnormalizedEmail() {
+        UserRegistrationData registrationData = UserRegistrationData.builder()
+                .email(" Tester@Example.COM ")
+                .name("Tester")
+                .password("test")
+                .build();
+
+        User user = userService.registerUser(registrationData);
+
+        assertThat(user.getEmail()).isEqualTo("tester@example.com");
     }
 
     @Test
@@ -91,6 +146,31 @@ class UserServiceTest {
                 .isInstanceOf(UserEmailDuplicationException.class);
 
         verify(userRepository).existsByEmail(EXISTED_EMAIL_ADDRESS);
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    void registerUserWithDuplicatedUnnormalizedEmail() {
+        UserRegistrationData registrationData = UserRegistrationData.builder()
+                .email("Existed@Example.com")
+                .name("Tester")
+                .password("test")
+                .build();
+
+        assertThatThrownBy(() -> userService.registerUser(registrationData))
+                .isInstanceOf(UserEmailDuplicationException.class);
+    }
+
+    @Test
+    void registerUserWithConcurrentlyRegisteredEmail() {
+        UserRegistrationData registrationData = UserRegistrationData.builder()
+                .email(RACED_EMAIL_ADDRESS)
+                .name("Tester")
+                .password("test")
+                .build();
+
+        assertThatThrownBy(() -> userService.registerUser(registrationData))
+                .isInstanceOf(UserEmailDuplicationException.class);
     }
 
     @Test
@@ -107,6 +187,58 @@ class UserServiceTest {
         assertThat(user.getName()).isEqualTo("TEST");
 
         verify(userRepository).findByIdAndDeletedIsFalse(1L);
+        verify(principalCache).invalidate(1L);
+    }
+
+    @Test
+    void patchUserWithName() throws Exception {
+        User user = userService.patchUser(
+                1L, objectMapper.readTree("{\"name\":\"TEST\"}"));
+
+        assertThat(user.getName()).isEqualTo("TEST");
+        assertThat(user.getPassword()).isEqualTo("test");
+
+        verify(principalCache).invalidate(1L);
+    }
+
+    @Test
+    void patchUserWithPassword() throws Exception {
+        User user = userService.patchUser(
+                1L, objectMapper.readTree("{\"password\":\"secret\"}"));
+
+        assertThat(user.getName()).isEqualTo("Tester");
+        assertThat(user.getPassword()).isNotEqualTo("secret");
+        assertThat(new BCryptPasswordEncoder()
+                .matches("secret", user.getPassword())).isTrue();
+    }
+
+    @Test
+    void updateUserHashesPasswordBeforeTransaction() {
+        userService.updateUser(1L, UserModificationData.builder()
+                .name("TEST")
+                .password("TEST")
+                .build());
+
+        InOrder inOrder = inOrder(passwordEncoder, transactionManager);
+        inOrder.verify(passwordEncoder).encode("TEST");
+        inOrder.verify(transactionManager).getTransaction(any());
+    }
+
+    @Test
+    void patchUserHashesPasswordBeforeTransaction() throws Exception {
+        userService.patchUser(
+                1L, objectMapper.readTree("{\"password\":\"secret\"}"));
+
+        InOrder inOrder = inOrder(passwordEncoder, transactionManager);
+        inOrder.verify(passwordEncoder).encode("secret");
+        inOrder.verify(transactionManager).getTransaction(any());
+    }
+
+    @Test
+    void patchUserWithNotExistedId() {
+        assertThatThrownBy(() -> userService.patchUser(
+                100L, objectMapper.readTree("{\"name\":\"TEST\"}")))
+                .isInstanceOf(UserNotFoundException.class);
     }
 
     @Test
@@ -146,6 +278,30 @@ class UserServiceTest {
         assertThat(user.isDeleted()).isTrue();
 
         verify(userRepository).findByIdAndDeletedIsFalse(1L);
+        verify(principalCache).invalidate(1L);
+    }
+
+    @Test
+    void updateUserWithVersion() {
+        UserModificationData modificationData = UserModificationData.builder()
+                .name("TEST")
+                .build();
+
+        User user = userService.updateUser(1L, modificationData, 3L);
+
+        assertThat(user.getName()).isEqualTo("TEST");
+
+        assertThatThrownBy(
+                () -> userService.updateUser(1L, modificationData, 2L))
+                .isInstanceOf(UserVersionMismatchException.class);
+    }
+
+    @Test
+    void deleteUserWithStaleVersion() {
+        assertThatThrownBy(() -> userService.deleteUser(1L, 2L))
+                .isInstanceOf(UserVersionMismatchException.class);
+
+        verify(principalCache, never()).invalidate(1L);
     }
 
     @Test
@@ -0,0 +1,52 @@
+package com.codesoom.assignment.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+    private static final Instant NOW = Instant.parse("2020-11-01T00:00:00Z");
+
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(
+            100, Duration.ofMinutes(10), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void getUserIdWithoutPut() {
+        assertThat(cache.getUserId("a.b.c")).isEmpty();
+    }
+
+    @Test
+    void getUserIdAfterPut() {
+        cache.put("a.b.c", 1L, Date.from(NOW.plusSeconds(60)));
+
+        assertThat(cache.getUserId("a.b.c")).contains(1L);
+        assertThat(cache.getUserId("a.b.d")).isEmpty();
+    }
+
+    @Test
+    void getUserIdWithoutExpiration() {
+        cache.put("a.b.c", 1L, null);
+
+        assertThat(cache.getUserId("a.b.c")).isEmpty();
+    }
+
+    @Test
+    void getUserIdWithExpiredToken() {
+        cache.put("a.b.c", 1L, Date.from(NOW.minusSeconds(1)));
+
+        assertThat(cache.getUserId("a.b.c")).isEmpty();
+    }
+
+    @Test
+    void getUserIdWithUnexpiredToken() {
+        cache.put("a.b.c", 1L, Date.from(NOW.plusSeconds(60)));
+
+        assertThat(cache.getUserId("a.b.c")).contains(1L);
+    }
+}
@@ -0,0 +1,48 @@
+package com.codesoom.assignment.controllers;
+
+import com.codesoom.assignment.application.AuthenticationService;
+import com.codesoom.assignment.application.ProductAutocomplete;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ProductAutocompleteController.class)
+class ProductAutocompleteControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProductAutocomplete productAutocomplete;
+
+    @MockBean
+    private AuthenticationService authenticationService;
+
+    @BeforeEach
+    void setUp() {
+        given(productAutocomplete.suggest("쥐", 10))
+                .willReturn(List.of("쥐돌이", "쥐순이"));
+    }
+
+    @Test
+    void autocomplete() throws Exception {
+        mockMvc.perform(get("/products/autocomplete").param("q", "쥐"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[\"쥐돌이\",\"쥐순이\"]"));
+    }
+
+    @Test
+    void autocompleteWithoutPrefix() throws Exception {
+        mockMvc.perform(get("/products/autocomplete"))
+                .andExpect(status().isBadRequest());
+    }
+}
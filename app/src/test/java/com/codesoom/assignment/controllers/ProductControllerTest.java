@@ -1,34 +1,67 @@
 package com.codesoom.assignment.controllers;
 
+import com.codesoom.assignment.application.AuthenticationService;
+import com.codesoom.assignment.application.OptimisticLockRetrier;
+import com.codesoom.assignment.application.ProductSearchIndex;
 import com.codesoom.assignment.application.ProductService;
+import com.codesoom.assignment.application.ProductSort;
+import com.codesoom.assignment.domain.CatalogVersion;
 import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.domain.ProductFields;
+import com.codesoom.assignment.domain.ProductView;
+import com.codesoom.assignment.application.ProductCursor;
+import com.codesoom.assignment.dto.ProductBulkResult;
+import com.codesoom.assignment.dto.ProductCatalog;
 import com.codesoom.assignment.dto.ProductData;
+import com.codesoom.assignment.dto.ProductLookupResult;
+import com.codesoom.assignment.dto.ProductPage;
+import com.codesoom.assignment.errors.InvalidCursorException;
+import com.codesoom.assignment.errors.InvalidTokenException;
+import com.codesoom.assignment.errors.InvalidVersionsException;
 import com.codesoom.assignment.errors.ProductNotFoundException;
+import com.codesoom.assignment.errors.ProductVersionMismatchException;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ProductController.class)
+@Import({
+        ProductResponseCache.class,
+        ProductJsonWriter.class,
+        OptimisticLockRetrier.class
+})
 class ProductControllerTest {
     private static final String VALID_TOKEN = "eyJhbGciOiJIUzI1NiJ9." +
             "eyJ1c2VySWQiOjF9.ZZ3CUl0jxeLGvQ1Js5nG2Ty5qGTlqai5ubDMXZOdaDk";
     private static final String INVALID_TOKEN = "eyJhbGciOiJIUzI1NiJ9." +
             "eyJ1c2VySWQiOjF9.ZZ3CUl0jxeLGvQ1Js5nG2Ty5qGTlqai5ubDMXZOdaD0";
+    private static final CatalogVersion CATALOG_VERSION =
+            new CatalogVersion(1L, 3L, 1L);
 
     @Autowired
     private MockMvc mockMvc;
@@ -36,17 +69,85 @@ class ProductControllerTest {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private AuthenticationService authenticationService;
+
+    @MockBean
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductResponseCache productResponseCache;
+
     @BeforeEach
     void setUp() {
+        given(authenticationService.parseToken(VALID_TOKEN)).willReturn(1L);
+
+        given(authenticationService.parseToken(INVALID_TOKEN))
+                .willThrow(new InvalidTokenException(INVALID_TOKEN));
+
         Product product = Product.builder()
                 .id(1L)
                 .name("쥐돌이")
                 .maker("냥이월드")
                 .price(5000)
                 .build();
-        given(productService.getProducts()).willReturn(List.of(product));
+        ProductView productView = ProductView.of(product);
+
+        given(productService.getCatalogVersion()).willReturn(CATALOG_VERSION);
+
+        given(productService.getCatalog(ProductFields.ALL))
+                .willReturn(new ProductCatalog(
+                        CATALOG_VERSION, List.of(productView)));
+
+        given(productService.getProductVersion(1L)).willReturn(3L);
+
+        given(productService.getProductVersion(1000L))
+                .willThrow(new ProductNotFoundException(1000L));
+
+        given(productService.getProducts(null, null, ProductSort.ID, null, 1))
+                .willReturn(new ProductPage(
+                        List.of(productView), ProductCursor.encode(1L)));
+
+        given(productService.getProducts(
+                null, null, ProductSort.ID, "!!!", 20))
+                .willThrow(new InvalidCursorException("!!!"));
+
+        given(productService.getProducts(
+                null, 5000, ProductSort.PRICE_ASC, null, 20))
+                .willReturn(new ProductPage(List.of(productView), null));
+
+        given(productService.getProduct(1L)).willReturn(productView);
+
+        given(productService.getVersionedProduct(1L))
+                .willReturn(Product.builder()
+                        .id(1L)
+                        .name("쥐돌이")
+                        .maker("냥이월드")
+                        .price(5000)
+                        .version(3L)
+                        .build());
+
+        ProductFields idAndName = ProductFields.parse("id,name");
+        ProductFields idNameAndPrice = ProductFields.parse("id,name,price");
+
+        given(productService.getCatalog(idAndName))
+                .willReturn(new ProductCatalog(
+                        CATALOG_VERSION, List.of(idAndName.project(productView))));
 
-        given(productService.getProduct(1L)).willReturn(product);
+        given(productService.getProducts(
+                null, null, ProductSort.ID, null, 20, idNameAndPrice))
+                .willReturn(new ProductPage(
+                        List.of(idNameAndPrice.project(productView)), null));
+
+        given(productService.getProduct(1L, idAndName))
+                .willReturn(idAndName.project(productView));
+
+        given(productSearchIndex.search("쥐돌", 20))
+                .willReturn(List.of(productView));
+
+        given(productService.getProducts(List.of(1000L, 1L)))
+                .willReturn(new ProductLookupResult(
+                        List.of(productView), List.of(1000L)));
 
         given(productService.getProduct(1000L))
                 .willThrow(new ProductNotFoundException(1000L));
@@ -54,7 +155,8 @@ class ProductControllerTest {
         given(productService.createProduct(any(ProductData.class)))
                 .willReturn(product);
 
-        given(productService.updateProduct(eq(1L), any(ProductData.class)))
+        given(productService.updateProduct(
+                eq(1L), any(ProductData.class), any()))
                 .will(invocation -> {
                     Long id = invocation.getArgument(0);
                     ProductData productData = invocation.getArgument(1);
@@ -66,11 +168,48 @@ class ProductControllerTest {
                             .build();
                 });
 
-        given(productService.updateProduct(eq(1000L), any(ProductData.class)))
+        given(productService.patchProduct(eq(1L), any(JsonNode.class), any()))
+                .willReturn(Product.builder()
+                        .id(1L)
+                        .name("쥐돌이")
+                        .maker("냥이월드")
+                        .price(6000)
+                        .version(4L)
+                        .build());
+
+        given(productService.patchProduct(
+                eq(1000L), any(JsonNode.class), any()))
+                .willThrow(new ProductNotFoundException(1000L));
+
+        given(productService.updateProduct(
+                eq(1000L), any(ProductData.class), any()))
                 .willThrow(new ProductNotFoundException(1000L));
 
-        given(productService.deleteProduct(1000L))
+        given(productService.deleteProduct(eq(1000L), any()))
                 .willThrow(new ProductNotFoundException(1000L));
+
+        willThrow(new ProductVersionMismatchException(1L))
+                .given(productService)
+                .updateProduct(eq(1L), any(ProductData.class), eq(2L));
+
+        given(productService.updateProduct(
+                eq(2L), any(ProductData.class), any()))
+                .willThrow(new ObjectOptimisticLockingFailureException(
+                        Product.class, 2L));
+
+        given(productService.updateProducts(any()))
+                .willReturn(new ProductBulkResult(List.of(
+                        new ProductBulkResult.Item(
+                                1L, ProductBulkResult.Status.UPDATED),
+                        new ProductBulkResult.Item(
+                                1000L, ProductBulkResult.Status.NOT_FOUND))));
+
+        given(productService.deleteProducts(List.of(1L, 1000L), null))
+                .willReturn(new ProductBulkResult(List.of(
+                        new ProductBulkResult.Item(
+                                1L, ProductBulkResult.Status.DELETED),
+                        new ProductBulkResult.Item(
+                                1000L, ProductBulkResult.Status.NOT_FOUND))));
     }
 
     @Test
@@ -78,9 +217,202 @@ class ProductControllerTest {
         mockMvc.perform(
                 get("/products")
                         .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, catalogETag()))
+                .andExpect(content().string(containsString("쥐돌이")));
+    }
+
+    @Test
+    void listWithCurrentETag() throws Exception {
+        mockMvc.perform(
+                get("/products")
+                        .header(HttpHeaders.IF_NONE_MATCH, catalogETag())
+        )
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(productService, never()).getCatalog(any());
+    }
+
+    @Test
+    void listWithStaleETag() throws Exception {
+        String eTag = productResponseCache.catalogETag(
+                new CatalogVersion(1L, 2L, 1L));
+
+        mockMvc.perform(
+                get("/products")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, catalogETag()))
+                .andExpect(content().string(containsString("쥐돌이")));
+    }
+
+    @Test
+    void listReadAtNewerVersion() throws Exception {
+        CatalogVersion requested = new CatalogVersion(1L, 4L, 1L);
+        CatalogVersion newer = new CatalogVersion(1L, 5L, 1L);
+        given(productService.getCatalogVersion()).willReturn(requested);
+        given(productService.getCatalog(ProductFields.ALL))
+                .willReturn(new ProductCatalog(newer, List.of()));
+
+        // ETag 는 목록을 실제로 읽은 버전으로 만든다.
+        mockMvc.perform(get("/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG,
+                        productResponseCache.catalogETag(newer)));
+    }
+
+    @Test
+    void listWithFields() throws Exception {
+        mockMvc.perform(
+                get("/products")
+                        .param("fields", "id,name")
+        )
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, catalogETag()))
+                .andExpect(content().string("[{\"id\":1,\"name\":\"쥐돌이\"}]"));
+
+        verify(productService, never()).getCatalog(ProductFields.ALL);
+    }
+
+    @Test
+    void listWithInvalidFields() throws Exception {
+        mockMvc.perform(
+                get("/products")
+                        .param("fields", "id,password")
+        )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void page() throws Exception {
+        mockMvc.perform(
+                get("/products")
+                        .param("limit", "1")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("쥐돌이")))
+                .andExpect(content().string(containsString(
+                        "\"next\":\"" + ProductCursor.encode(1L) + "\"")));
+    }
+
+    @Test
+    void pageWithFields() throws Exception {
+        mockMvc.perform(
+                get("/products")
+                        .param("limit", "20")
+                        .param("fields", "id,name,price")
+        )
+                .andExpect(status().isOk())
+                .andExpect(content().string("{\"products\":" +
+                        "[{\"id\":1,\"name\":\"쥐돌이\",\"price\":5000}]," +
+                        "\"next\":null}"));
+    }
+
+    @Test
+    void pageWithInvalidCursor() throws Exception {
+        mockMvc.perform(
+                get("/products")
+                        .param("cursor", "!!!")
+        )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void pageWithPriceRangeAndSort() throws Exception {
+        mockMvc.perform(
+                get("/products")
+                        .param("maxPrice", "5000")
+                        .param("sort", "price,asc")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("쥐돌이")));
+
+        verify(productService).getProducts(
+                null, 5000, ProductSort.PRICE_ASC, null, 20);
+        verify(productService, never()).getCatalog(any());
+    }
+
+    @Test
+    void pageWithPriceRangeWithoutSort() throws Exception {
+        mockMvc.perform(
+                get("/products")
+                        .param("maxPrice", "5000")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("쥐돌이")));
+
+        verify(productService).getProducts(
+                null, 5000, ProductSort.PRICE_ASC, null, 20);
+    }
+
+    @Test
+    void pageWithInvalidSort() throws Exception {
+        mockMvc.perform(
+                get("/products")
+                        .param("sort", "name")
+        )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void lookupWithIds() throws Exception {
+        mockMvc.perform(
+                get("/products")
+                        .param("ids", "1000,1")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("쥐돌이")))
+                .andExpect(content().string(
+                        containsString("\"missing\":[1000]")));
+
+        verify(productService).getProducts(List.of(1000L, 1L));
+        verify(productService, never()).getCatalog(any());
+    }
+
+    @Test
+    void bulkLookupWithoutAccessToken() throws Exception {
+        mockMvc.perform(
+                post("/products/lookup")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1000,1]}")
+        )
+                .andExpect(status().isOk())
+                .andExpect(content().string(
+                        containsString("\"missing\":[1000]")));
+
+        verify(productService).getProducts(List.of(1000L, 1L));
+    }
+
+    @Test
+    void bulkLookupWithoutIds() throws Exception {
+        mockMvc.perform(
+                post("/products/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[]}")
+        )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void search() throws Exception {
+        mockMvc.perform(
+                get("/products/search")
+                        .param("q", "쥐돌")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
         )
                 .andExpect(status().isOk())
                 .andExpect(content().string(containsString("쥐돌이")));
+
+        verify(productSearchIndex).search("쥐돌", 20);
     }
 
     @Test
@@ -90,9 +422,35 @@ class ProductControllerTest {
                         .accept(MediaType.APPLICATION_JSON_UTF8)
         )
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
                 .andExpect(content().string(containsString("쥐돌이")));
     }
 
+    @Test
+    void detailWithFields() throws Exception {
+        mockMvc.perform(
+                get("/products/1")
+                        .param("fields", "id,name")
+        )
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(content().string("{\"id\":1,\"name\":\"쥐돌이\"}"));
+
+        verify(productService, never()).getProduct(1L);
+    }
+
+    @Test
+    void deatilWithCurrentETag() throws Exception {
+        mockMvc.perform(
+                get("/products/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-3\"")
+        )
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(productService, never()).getVersionedProduct(1L);
+    }
+
     @Test
     void deatilWithNotExsitedProduct() throws Exception {
         mockMvc.perform(get("/products/1000"))
@@ -103,6 +461,7 @@ class ProductControllerTest {
     void createWithValidAttributes() throws Exception {
         mockMvc.perform(
                 post("/products")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
                         .accept(MediaType.APPLICATION_JSON_UTF8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"name\":\"쥐돌이\",\"maker\":\"냥이월드\"," +
@@ -114,10 +473,38 @@ class ProductControllerTest {
         verify(productService).createProduct(any(ProductData.class));
     }
 
+    @Test
+    void createWithoutAccessToken() throws Exception {
+        mockMvc.perform(
+                post("/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"쥐돌이\",\"maker\":\"냥이월드\"," +
+                                "\"price\":5000}")
+        )
+                .andExpect(status().isUnauthorized());
+
+        verify(productService, never()).createProduct(any(ProductData.class));
+    }
+
+    @Test
+    void createWithInvalidAccessToken() throws Exception {
+        mockMvc.perform(
+                post("/products")
+                        .header("Authorization", "Bearer " + INVALID_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"쥐돌이\",\"maker\":\"냥이월드\"," +
+                                "\"price\":5000}")
+        )
+                .andExpect(status().isUnauthorized());
+
+        verify(productService, never()).createProduct(any(ProductData.class));
+    }
+
     @Test
     void createWithInvalidAttributes() throws Exception {
         mockMvc.perform(
                 post("/products")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
                         .accept(MediaType.APPLICATION_JSON_UTF8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"name\":\"\",\"maker\":\"\"," +
@@ -130,6 +517,7 @@ class ProductControllerTest {
     void updateWithExistedProduct() throws Exception {
         mockMvc.perform(
                 patch("/products/1")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
                         .accept(MediaType.APPLICATION_JSON_UTF8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"name\":\"쥐순이\",\"maker\":\"냥이월드\"," +
@@ -138,26 +526,106 @@ class ProductControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string(containsString("쥐순이")));
 
-        verify(productService).updateProduct(eq(1L), any(ProductData.class));
+        verify(productService)
+                .updateProduct(eq(1L), any(ProductData.class), isNull());
     }
 
     @Test
     void updateWithNotExistedProduct() throws Exception {
         mockMvc.perform(
                 patch("/products/1000")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"name\":\"쥐순이\",\"maker\":\"냥이월드\"," +
                                 "\"price\":5000}")
         )
                 .andExpect(status().isNotFound());
 
-        verify(productService).updateProduct(eq(1000L), any(ProductData.class));
+        verify(productService)
+                .updateProduct(eq(1000L), any(ProductData.class), isNull());
+    }
+
+    @Test
+    void updateWithMatchingIfMatch() throws Exception {
+        mockMvc.perform(
+                patch("/products/1")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"쥐순이\",\"maker\":\"냥이월드\"," +
+                                "\"price\":5000}")
+        )
+                .andExpect(status().isOk());
+
+        verify(productService)
+                .updateProduct(eq(1L), any(ProductData.class), eq(3L));
+    }
+
+    @Test
+    void updateWithStaleIfMatch() throws Exception {
+        mockMvc.perform(
+                patch("/products/1")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .header(HttpHeaders.IF_MATCH, "\"1-2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"쥐순이\",\"maker\":\"냥이월드\"," +
+                                "\"price\":5000}")
+        )
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateWithIfMatchOfOtherProduct() throws Exception {
+        mockMvc.perform(
+                patch("/products/1")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .header(HttpHeaders.IF_MATCH, "\"2-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"쥐순이\",\"maker\":\"냥이월드\"," +
+                                "\"price\":5000}")
+        )
+                .andExpect(status().isPreconditionFailed());
+
+        verify(productService, never())
+                .updateProduct(eq(1L), any(ProductData.class), any());
+    }
+
+    @Test
+    void updateWithConflictRetriesAndGivesUp() throws Exception {
+        mockMvc.perform(
+                patch("/products/2")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"쥐순이\",\"maker\":\"냥이월드\"," +
+                                "\"price\":5000}")
+        )
+                .andExpect(status().isConflict());
+
+        verify(productService, times(4))
+                .updateProduct(eq(2L), any(ProductData.class), isNull());
+    }
+
+    @Test
+    void updateWithConflictAndIfMatchDoesNotRetry() throws Exception {
+        mockMvc.perform(
+                patch("/products/2")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .header(HttpHeaders.IF_MATCH, "\"2-5\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"쥐순이\",\"maker\":\"냥이월드\"," +
+                                "\"price\":5000}")
+        )
+                .andExpect(status().isConflict());
+
+        verify(productService, times(1))
+                .updateProduct(eq(2L), any(ProductData.class), eq(5L));
     }
 
     @Test
     void updateWithInvalidAttributes() throws Exception {
         mockMvc.perform(
                 patch("/products/1")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
                         .accept(MediaType.APPLICATION_JSON_UTF8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"name\":\"\",\"maker\":\"\"," +
@@ -166,23 +634,196 @@ class ProductControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void patchWithExistedProduct() throws Exception {
+        mockMvc.perform(
+                patch("/products/1")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"price\":6000}")
+        )
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-4\""))
+                .andExpect(content().string(containsString("6000")));
+
+        verify(productService)
+                .patchProduct(eq(1L), any(JsonNode.class), isNull());
+        verify(productService, never())
+                .updateProduct(eq(1L), any(ProductData.class), any());
+    }
+
+    @Test
+    void patchWithNotExistedProduct() throws Exception {
+        mockMvc.perform(
+                patch("/products/1000")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"price\":6000}")
+        )
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void destroyWithExistedProduct() throws Exception {
         mockMvc.perform(
                 delete("/products/1")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+        )
+                .andExpect(status().isNoContent());
+
+        verify(productService).deleteProduct(eq(1L), isNull());
+    }
+
+    @Test
+    void destroyWithIfMatch() throws Exception {
+        mockMvc.perform(
+                delete("/products/1")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .header(HttpHeaders.IF_MATCH, "\"1-3\"")
         )
                 .andExpect(status().isNoContent());
 
-        verify(productService).deleteProduct(1L);
+        verify(productService).deleteProduct(eq(1L), eq(3L));
+    }
+
+    @Test
+    void destroyWithoutAccessToken() throws Exception {
+        mockMvc.perform(
+                delete("/products/1")
+        )
+                .andExpect(status().isUnauthorized());
+
+        verify(productService, never()).deleteProduct(eq(1L), any());
     }
 
     @Test
     void destroyWithNotExistedProduct() throws Exception {
         mockMvc.perform(
                 delete("/products/1000")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
         )
                 .andExpect(status().isNotFound());
 
-        verify(productService).deleteProduct(1000L);
+        verify(productService).deleteProduct(eq(1000L), isNull());
+    }
+
+    @Test
+    void bulkUpdate() throws Exception {
+        mockMvc.perform(
+                patch("/products")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"products\":[" +
+                                "{\"id\":1,\"name\":\"쥐순이\"," +
+                                "\"maker\":\"냥이월드\",\"price\":5000}," +
+                                "{\"id\":1000,\"name\":\"쥐식이\"," +
+                                "\"maker\":\"냥이월드\",\"price\":5000}]}")
+        )
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("UPDATED")))
+                .andExpect(content().string(containsString("NOT_FOUND")));
+    }
+
+    @Test
+    void bulkUpdateWithPriceOnly() throws Exception {
+        mockMvc.perform(
+                patch("/products")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"products\":[" +
+                                "{\"id\":1,\"price\":4500}," +
+                                "{\"id\":1000,\"price\":4500,\"version\":3}]}")
+        )
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("UPDATED")));
+
+        verify(productService).updateProducts(argThat(items ->
+                items.size() == 2
+                        && items.get(0).getName() == null
+                        && items.get(0).getPrice() == 4500
+                        && items.get(1).getVersion() == 3L));
+    }
+
+    @Test
+    void bulkUpdateWithoutId() throws Exception {
+        mockMvc.perform(
+                patch("/products")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"products\":[{\"price\":4500}]}")
+        )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bulkUpdateWithInvalidAttributes() throws Exception {
+        mockMvc.perform(
+                patch("/products")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"products\":[" +
+                                "{\"id\":1,\"name\":\"\"," +
+                                "\"maker\":\"\",\"price\":0}]}")
+        )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bulkDestroy() throws Exception {
+        mockMvc.perform(
+                delete("/products")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .param("ids", "1,1000")
+        )
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("DELETED")))
+                .andExpect(content().string(containsString("NOT_FOUND")));
+    }
+
+    @Test
+    void bulkDestroyWithVersions() throws Exception {
+        given(productService.deleteProducts(List.of(1L), List.of(2L)))
+                .willReturn(new ProductBulkResult(List.of(
+                        new ProductBulkResult.Item(1L,
+                                ProductBulkResult.Status.VERSION_MISMATCH))));
+
+        mockMvc.perform(
+                delete("/products")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .param("ids", "1")
+                        .param("versions", "2")
+        )
+                .andExpect(status().isOk())
+                .andExpect(content().string(
+                        containsString("VERSION_MISMATCH")));
+    }
+
+    @Test
+    void bulkDestroyWithWrongNumberOfVersions() throws Exception {
+        given(productService.deleteProducts(List.of(1L, 1000L), List.of(2L)))
+                .willThrow(new InvalidVersionsException(2, 1));
+
+        mockMvc.perform(
+                delete("/products")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .param("ids", "1,1000")
+                        .param("versions", "2")
+        )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bulkDestroyWithoutAccessToken() throws Exception {
+        mockMvc.perform(
+                delete("/products")
+                        .param("ids", "1,1000")
+        )
+                .andExpect(status().isUnauthorized());
+
+        verify(productService, never()).deleteProducts(any(), any());
+    }
+
+    private String catalogETag() {
+        return productResponseCache.catalogETag(CATALOG_VERSION);
     }
 }
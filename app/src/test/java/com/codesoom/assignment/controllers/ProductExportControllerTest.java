@@ -0,0 +1,54 @@
+package com.codesoom.assignment.controllers;
+
+import com.codesoom.assignment.application.AuthenticationService;
+import com.codesoom.assignment.application.ProductExportService;
+import com.codesoom.assignment.domain.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ProductExportController.class)
+class ProductExportControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProductExportService productExportService;
+
+    @MockBean
+    private AuthenticationService authenticationService;
+
+    @BeforeEach
+    void setUp() {
+        willAnswer(invocation -> {
+            Consumer<Product> consumer = invocation.getArgument(0);
+            consumer.accept(Product.builder().id(1L).name("쥐돌이").build());
+            consumer.accept(Product.builder().id(2L).name("쥐순이").build());
+            return null;
+        }).given(productExportService).exportProducts(any());
+    }
+
+    @Test
+    void export() throws Exception {
+        mockMvc.perform(get("/products/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(
+                        "application/x-ndjson"))
+                .andExpect(content().string(containsString(
+                        "\"name\":\"쥐돌이\"")))
+                .andExpect(content().string(containsString(
+                        "}\n{\"id\":2,")));
+    }
+}
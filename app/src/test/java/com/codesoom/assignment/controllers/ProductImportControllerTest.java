@@ -0,0 +1,89 @@
+package com.codesoom.assignment.controllers;
+
+import com.codesoom.assignment.application.AuthenticationService;
+import com.codesoom.assignment.application.ProductImportService;
+import com.codesoom.assignment.dto.ProductImportError;
+import com.codesoom.assignment.dto.ProductImportResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ProductImportController.class)
+class ProductImportControllerTest {
+    private static final String VALID_TOKEN = "eyJhbGciOiJIUzI1NiJ9." +
+            "eyJ1c2VySWQiOjF9.ZZ3CUl0jxeLGvQ1Js5nG2Ty5qGTlqai5ubDMXZOdaDk";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProductImportService productImportService;
+
+    @MockBean
+    private AuthenticationService authenticationService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        given(authenticationService.parseToken(VALID_TOKEN)).willReturn(1L);
+
+        given(productImportService.importProducts(any(InputStream.class)))
+                .willReturn(new ProductImportResult(1, List.of(
+                        new ProductImportError(1, "name must not be blank"))));
+    }
+
+    @Test
+    void importNdjson() throws Exception {
+        mockMvc.perform(
+                post("/products/import")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .contentType("application/x-ndjson")
+                        .content("{\"name\":\"쥐돌이\",\"maker\":\"냥이월드\"," +
+                                "\"price\":5000}\n" +
+                                "{\"name\":\"\",\"maker\":\"냥이월드\"," +
+                                "\"price\":5000}\n")
+        )
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"imported\":1")))
+                .andExpect(content().string(containsString("\"index\":1")));
+    }
+
+    @Test
+    void importJsonArray() throws Exception {
+        mockMvc.perform(
+                post("/products/import")
+                        .header("Authorization", "Bearer " + VALID_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]")
+        )
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void importWithoutAccessToken() throws Exception {
+        mockMvc.perform(
+                post("/products/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]")
+        )
+                .andExpect(status().isUnauthorized());
+
+        verify(productImportService, never())
+                .importProducts(any(InputStream.class));
+    }
+}
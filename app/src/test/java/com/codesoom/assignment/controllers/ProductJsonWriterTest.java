@@ -0,0 +1,56 @@
+package com.codesoom.assignment.controllers;
+
+import com.codesoom.assignment.domain.ProductFields;
+import com.codesoom.assignment.domain.ProductView;
+import com.codesoom.assignment.dto.ProductPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductJsonWriterTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ProductJsonWriter productJsonWriter =
+            new ProductJsonWriter(objectMapper);
+
+    private final ProductView product =
+            new ProductView(1L, "쥐돌이", "냥이월드", 5000, null);
+
+    @Test
+    void writeProductWithAllFieldsMatchesObjectMapper() throws Exception {
+        assertThat(productJsonWriter.writeProduct(product, ProductFields.ALL))
+                .isEqualTo(objectMapper.writeValueAsBytes(product));
+    }
+
+    @Test
+    void writePageWithAllFieldsMatchesObjectMapper() throws Exception {
+        ProductPage page = new ProductPage(List.of(product), "next");
+
+        assertThat(productJsonWriter.writePage(page, ProductFields.ALL))
+                .isEqualTo(objectMapper.writeValueAsBytes(page));
+    }
+
+    @Test
+    void writeProductsWithFields() {
+        byte[] body = productJsonWriter.writeProducts(List.of(product),
+                ProductFields.parse("id,price,imageUrl"));
+
+        assertThat(new String(body, StandardCharsets.UTF_8))
+                .isEqualTo("[{\"id\":1,\"price\":5000,\"imageUrl\":null}]");
+    }
+
+    @Test
+    void writePageWithFields() {
+        byte[] body = productJsonWriter.writePage(
+                new ProductPage(List.of(product), null),
+                ProductFields.parse("name"));
+
+        assertThat(new String(body, StandardCharsets.UTF_8))
+                .isEqualTo("{\"products\":[{\"name\":\"쥐돌이\"}]," +
+                        "\"next\":null}");
+    }
+}
@@ -0,0 +1,192 @@
+package com.codesoom.assignment.controllers;
+
+import com.codesoom.assignment.application.ProductChangedEvent;
+import com.codesoom.assignment.domain.CatalogVersion;
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.domain.ProductFields;
+import com.codesoom.assignment.domain.ProductView;
+import com.codesoom.assignment.dto.ProductCatalog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductResponseCacheTest {
+    private ProductResponseCache productResponseCache;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        productResponseCache = new ProductResponseCache(new ObjectMapper(), 100);
+
+        product = Product.builder()
+                .id(1L)
+                .name("쥐돌이")
+                .maker("냥이월드")
+                .price(5000)
+                .version(3L)
+                .build();
+    }
+
+    @Test
+    void getProduct() {
+        CountingLoader<Product> loader = new CountingLoader<>(product);
+
+        ProductResponseCache.CachedProduct cached =
+                productResponseCache.getProduct(1L, 3L, loader);
+
+        assertThat(cached.getVersion()).isEqualTo(3L);
+        assertThat(new String(cached.getBody(), StandardCharsets.UTF_8))
+                .contains("\"name\":\"쥐돌이\"");
+        assertThat(productResponseCache.getProduct(1L, 3L, loader))
+                .isSameAs(cached);
+        assertThat(loader.count()).isEqualTo(1);
+    }
+
+    @Test
+    void getProductWithOtherVersion() {
+        CountingLoader<Product> loader = new CountingLoader<>(product);
+
+        productResponseCache.getProduct(1L, 3L, loader);
+        productResponseCache.getProduct(1L, 4L, loader);
+
+        assertThat(loader.count()).isEqualTo(2);
+    }
+
+    @Test
+    void getProductAfterInvalidation() {
+        CountingLoader<Product> loader = new CountingLoader<>(product);
+
+        productResponseCache.getProduct(1L, 3L, loader);
+        productResponseCache.handleProductChanged(new ProductChangedEvent(
+                ProductChangedEvent.Type.UPDATED, 1L));
+        productResponseCache.getProduct(1L, 3L, loader);
+
+        assertThat(loader.count()).isEqualTo(2);
+    }
+
+    @Test
+    void getProductLoadedBeforeCommitIsNotServedForNewVersion() {
+        // 커밋 전에 읽은 3 버전 응답이 무효화 뒤에 들어와도 4 버전 요청에는 쓰지 않는다.
+        Product updated = Product.builder()
+                .id(1L)
+                .name("쥐순이")
+                .version(4L)
+                .build();
+        productResponseCache.getProduct(1L, 3L, () -> {
+            productResponseCache.invalidate(1L);
+            return product;
+        });
+
+        ProductResponseCache.CachedProduct cached =
+                productResponseCache.getProduct(1L, 4L, () -> updated);
+
+        assertThat(cached.getVersion()).isEqualTo(4L);
+        assertThat(new String(cached.getBody(), StandardCharsets.UTF_8))
+                .contains("쥐순이");
+    }
+
+    @Test
+    void getCatalog() {
+        CatalogVersion version = new CatalogVersion(1L, 3L, 1L);
+        CountingLoader<ProductCatalog> loader = new CountingLoader<>(
+                new ProductCatalog(version, List.of(ProductView.of(product))));
+
+        ProductResponseCache.CachedCatalog catalog =
+                productResponseCache.getCatalog(version, loader);
+
+        assertThat(new String(catalog.getBody(), StandardCharsets.UTF_8))
+                .startsWith("[{");
+        assertThat(productResponseCache.getCatalog(version, loader))
+                .isSameAs(catalog);
+        assertThat(loader.count()).isEqualTo(1);
+    }
+
+    @Test
+    void catalogETagPerVersion() {
+        String eTag = productResponseCache.catalogETag(
+                new CatalogVersion(1L, 3L, 1L));
+
+        assertThat(productResponseCache.catalogETag(
+                new CatalogVersion(1L, 3L, 1L))).isEqualTo(eTag);
+        assertThat(productResponseCache.catalogETag(
+                new CatalogVersion(1L, 4L, 1L))).isNotEqualTo(eTag);
+        assertThat(productResponseCache.catalogETag(
+                new CatalogVersion(1L, 3L, 2L))).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void getCatalogWithNewVersion() {
+        CatalogVersion version = new CatalogVersion(1L, 3L, 1L);
+        CatalogVersion updated = new CatalogVersion(1L, 4L, 1L);
+        CountingLoader<ProductCatalog> loader = new CountingLoader<>(
+                new ProductCatalog(updated, List.of(ProductView.of(product))));
+
+        productResponseCache.getCatalog(version, loader);
+        ProductResponseCache.CachedCatalog catalog =
+                productResponseCache.getCatalog(updated, loader);
+
+        assertThat(loader.count()).isEqualTo(2);
+        assertThat(catalog.getVersion()).isEqualTo(updated);
+    }
+
+    // 늦은 복제본에서 읽은 목록은 요청한 버전이 아니라 읽어 온 버전으로 남는다.
+    @Test
+    void getCatalogKeepsLoadedVersion() {
+        CatalogVersion requested = new CatalogVersion(2L, 3L, 3L);
+        CatalogVersion lagging = new CatalogVersion(1L, 3L, 1L);
+        CountingLoader<ProductCatalog> loader = new CountingLoader<>(
+                new ProductCatalog(lagging, List.of(ProductView.of(product))));
+
+        ProductResponseCache.CachedCatalog catalog =
+                productResponseCache.getCatalog(requested, loader);
+
+        assertThat(catalog.getVersion()).isEqualTo(lagging);
+        productResponseCache.getCatalog(requested, loader);
+        assertThat(loader.count()).isEqualTo(2);
+    }
+
+    @Test
+    void getCatalogPerFields() {
+        ProductFields fields = ProductFields.parse("id,name");
+        CatalogVersion version = new CatalogVersion(1L, 3L, 1L);
+        ProductCatalog catalog =
+                new ProductCatalog(version, List.of(ProductView.of(product)));
+        byte[] all = productResponseCache.getCatalog(
+                version, () -> catalog).getBody();
+        byte[] sparse = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(productResponseCache.getCatalog(
+                version, fields, () -> catalog, products -> sparse).getBody())
+                .isSameAs(sparse);
+        assertThat(productResponseCache.getCatalog(
+                version, fields, () -> catalog, products -> all).getBody())
+                .isSameAs(sparse);
+    }
+
+    private static class CountingLoader<T> implements Supplier<T> {
+        private final T value;
+        private final AtomicInteger count = new AtomicInteger();
+
+        CountingLoader(T value) {
+            this.value = value;
+        }
+
+        @Override
+        public T get() {
+            count.incrementAndGet();
+            return value;
+        }
+
+        int count() {
+            return count.get();
+        }
+    }
+}
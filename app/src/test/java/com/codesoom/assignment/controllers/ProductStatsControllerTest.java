@@ -0,0 +1,45 @@
+package com.codesoom.assignment.controllers;
+
+import com.codesoom.assignment.application.AuthenticationService;
+import com.codesoom.assignment.application.ProductStatistics;
+import com.codesoom.assignment.dto.ProductStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ProductStatsController.class)
+class ProductStatsControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProductStatistics productStatistics;
+
+    @MockBean
+    private AuthenticationService authenticationService;
+
+    @BeforeEach
+    void setUp() {
+        given(productStatistics.getStats()).willReturn(new ProductStats(
+                2, 3000, 5000, 4000.0, Map.of("냥이월드", 2L)));
+    }
+
+    @Test
+    void stats() throws Exception {
+        mockMvc.perform(get("/products/stats"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"count\":2,\"minPrice\":3000," +
+                        "\"maxPrice\":5000,\"averagePrice\":4000.0," +
+                        "\"makers\":{\"냥이월드\":2}}"));
+    }
+}
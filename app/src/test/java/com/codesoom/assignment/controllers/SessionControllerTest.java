@@ -0,0 +1,83 @@
+package com.codesoom.assignment.controllers;
+
+import com.codesoom.assignment.application.AuthenticationService;
+import com.codesoom.assignment.errors.LoginFailException;
+import com.codesoom.assignment.errors.PasswordHashingBusyException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(SessionController.class)
+class SessionControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AuthenticationService authenticationService;
+
+    @BeforeEach
+    void setUp() {
+        given(authenticationService.login("tester@example.com", "test"))
+                .willReturn("a.b.c");
+
+        given(authenticationService.login("tester@example.com", "xxx"))
+                .willThrow(new LoginFailException("tester@example.com"));
+
+        given(authenticationService.login("busy@example.com", "test"))
+                .willThrow(new PasswordHashingBusyException());
+    }
+
+    @Test
+    void loginWithRightEmailAndPassword() throws Exception {
+        mockMvc.perform(
+                post("/session")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"tester@example.com\"," +
+                                "\"password\":\"test\"}")
+        )
+                .andExpect(status().isCreated())
+                .andExpect(content().string(containsString(".b.")));
+    }
+
+    @Test
+    void loginWithWrongPassword() throws Exception {
+        mockMvc.perform(
+                post("/session")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"tester@example.com\"," +
+                                "\"password\":\"xxx\"}")
+        )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void loginWithBlankAttributes() throws Exception {
+        mockMvc.perform(
+                post("/session")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"\",\"password\":\"\"}")
+        )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void loginWhenPasswordHashingIsBusy() throws Exception {
+        mockMvc.perform(
+                post("/session")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"busy@example.com\"," +
+                                "\"password\":\"test\"}")
+        )
+                .andExpect(status().isTooManyRequests());
+    }
+}
@@ -1,28 +1,38 @@
 package com.codesoom.assignment.controllers;
 
+import com.codesoom.assignment.application.AuthenticationService;
+import com.codesoom.assignment.application.OptimisticLockRetrier;
 import com.codesoom.assignment.application.UserService;
 import com.codesoom.assignment.domain.User;
 import com.codesoom.assignment.dto.UserModificationData;
 import com.codesoom.assignment.dto.UserRegistrationData;
 import com.codesoom.assignment.errors.UserNotFoundException;
+import com.codesoom.assignment.errors.UserVersionMismatchException;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserController.class)
+@Import(OptimisticLockRetrier.class)
 class UserControllerTest {
     @Autowired
     private MockMvc mockMvc;
@@ -30,6 +40,9 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private AuthenticationService authenticationService;
+
     @BeforeEach
     void setUp() {
         given(userService.registerUser(any(UserRegistrationData.class)))
@@ -43,7 +56,8 @@ class UserControllerTest {
                 });
 
 
-        given(userService.updateUser(eq(1L), any(UserModificationData.class)))
+        given(userService.updateUser(
+                eq(1L), any(UserModificationData.class), any()))
                 .will(invocation -> {
                     Long id = invocation.getArgument(0);
                     UserModificationData modificationData =
@@ -52,13 +66,27 @@ class UserControllerTest {
                             .id(id)
                             .email("tester@example.com")
                             .name(modificationData.getName())
+                            .version(4L)
                             .build();
                 });
 
-        given(userService.updateUser(eq(100L), any(UserModificationData.class)))
+        given(userService.updateUser(
+                eq(1L), any(UserModificationData.class), eq(2L)))
+                .willThrow(new UserVersionMismatchException(1L));
+
+        given(userService.updateUser(
+                eq(100L), any(UserModificationData.class), any()))
                 .willThrow(new UserNotFoundException(100L));
 
-        given(userService.deleteUser(100L))
+        given(userService.patchUser(eq(1L), any(JsonNode.class), any()))
+                .willReturn(User.builder()
+                        .id(1L)
+                        .email("tester@example.com")
+                        .name("TEST")
+                        .version(4L)
+                        .build());
+
+        given(userService.deleteUser(eq(100L), any()))
                 .willThrow(new UserNotFoundException(100L));
     }
 
@@ -109,7 +137,8 @@ class UserControllerTest {
                         containsString("\"name\":\"TEST\"")
                 ));
 
-        verify(userService).updateUser(eq(1L), any(UserModificationData.class));
+        verify(userService).updateUser(
+                eq(1L), any(UserModificationData.class), isNull());
     }
 
     @Test
@@ -131,8 +160,8 @@ class UserControllerTest {
         )
                 .andExpect(status().isNotFound());
 
-        verify(userService)
-                .updateUser(eq(100L), any(UserModificationData.class));
+        verify(userService).updateUser(
+                eq(100L), any(UserModificationData.class), isNull());
     }
 
     @Test
@@ -140,7 +169,7 @@ class UserControllerTest {
         mockMvc.perform(delete("/users/1"))
                 .andExpect(status().isNoContent());
 
-        verify(userService).deleteUser(1L);
+        verify(userService).deleteUser(eq(1L), isNull());
     }
 
     @Test
@@ -148,6 +177,70 @@ class UserControllerTest {
         mockMvc.perform(delete("/users/100"))
                 .andExpect(status().isNotFound());
 
-        verify(userService).deleteUser(100L);
+        verify(userService).deleteUser(eq(100L), isNull());
+    }
+
+    @Test
+    void patchUserWithName() throws Exception {
+        mockMvc.perform(
+                patch("/users/1")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"name\":\"TEST\"}")
+        )
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"name\":\"TEST\"")));
+
+        verify(userService).patchUser(eq(1L), any(JsonNode.class), isNull());
+    }
+
+    @Test
+    void updateUserWithIfMatch() throws Exception {
+        mockMvc.perform(
+                patch("/users/1")
+                        .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"TEST\",\"password\":\"test\"}")
+        )
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-4\""));
+
+        verify(userService).updateUser(
+                eq(1L), any(UserModificationData.class), eq(3L));
+    }
+
+    @Test
+    void updateUserWithStaleIfMatch() throws Exception {
+        mockMvc.perform(
+                patch("/users/1")
+                        .header(HttpHeaders.IF_MATCH, "\"1-2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"TEST\",\"password\":\"test\"}")
+        )
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateUserWithOtherUsersETag() throws Exception {
+        mockMvc.perform(
+                patch("/users/1")
+                        .header(HttpHeaders.IF_MATCH, "\"2-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"TEST\",\"password\":\"test\"}")
+        )
+                .andExpect(status().isPreconditionFailed());
+
+        verify(userService, never()).updateUser(
+                eq(1L), any(UserModificationData.class), any());
+    }
+
+    @Test
+    void destroyWithIfMatch() throws Exception {
+        mockMvc.perform(
+                delete("/users/1")
+                        .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+        )
+                .andExpect(status().isNoContent());
+
+        verify(userService).deleteUser(1L, 3L);
     }
 }
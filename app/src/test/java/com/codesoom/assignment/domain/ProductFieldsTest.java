@@ -0,0 +1,62 @@
+package com.codesoom.assignment.domain;
+
+import com.codesoom.assignment.errors.InvalidFieldsException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductFieldsTest {
+    @Test
+    void parseWithoutFields() {
+        assertThat(ProductFields.parse(null)).isEqualTo(ProductFields.ALL);
+        assertThat(ProductFields.ALL.isAll()).isTrue();
+    }
+
+    @Test
+    void parseKeepsDeclarationOrder() {
+        ProductFields fields = ProductFields.parse(" price, id,name,price");
+
+        assertThat(fields.getFields()).containsExactly(
+                ProductFields.Field.ID,
+                ProductFields.Field.NAME,
+                ProductFields.Field.PRICE);
+        assertThat(fields.isAll()).isFalse();
+        assertThat(fields).isEqualTo(ProductFields.parse("id,name,price"));
+    }
+
+    @Test
+    void parseWithInvalidFields() {
+        assertThatThrownBy(() -> ProductFields.parse("id,password"))
+                .isInstanceOf(InvalidFieldsException.class);
+        assertThatThrownBy(() -> ProductFields.parse(""))
+                .isInstanceOf(InvalidFieldsException.class);
+        assertThatThrownBy(() -> ProductFields.parse("image_url"))
+                .isInstanceOf(InvalidFieldsException.class);
+    }
+
+    @Test
+    void with() {
+        ProductFields fields = ProductFields.parse("name");
+
+        assertThat(fields.with(ProductFields.Field.ID))
+                .isEqualTo(ProductFields.parse("id,name"));
+        assertThat(fields.contains(ProductFields.Field.ID)).isFalse();
+    }
+
+    @Test
+    void project() {
+        ProductView product = new ProductView(
+                1L, "쥐돌이", "냥이월드", 5000, "http://localhost:8080/rat");
+
+        ProductView projected =
+                ProductFields.parse("id,imageUrl").project(product);
+
+        assertThat(projected.getId()).isEqualTo(1L);
+        assertThat(projected.getName()).isNull();
+        assertThat(projected.getMaker()).isNull();
+        assertThat(projected.getPrice()).isNull();
+        assertThat(projected.getImageUrl())
+                .isEqualTo("http://localhost:8080/rat");
+    }
+}
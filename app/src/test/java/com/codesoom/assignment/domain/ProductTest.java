@@ -40,4 +40,22 @@ class ProductTest {
         assertThat(product.getMaker()).isEqualTo("코드숨");
         assertThat(product.getPrice()).isEqualTo(10000);
     }
+
+    @Test
+    void change() {
+        Product product = Product.builder()
+                .id(1L)
+                .name("쥐돌이")
+                .maker("냥이월드")
+                .price(5000)
+                .build();
+
+        product.change("쥐순이", "코드숨", 10000, "http://localhost:8080/rat");
+
+        assertThat(product.getId()).isEqualTo(1L);
+        assertThat(product.getName()).isEqualTo("쥐순이");
+        assertThat(product.getMaker()).isEqualTo("코드숨");
+        assertThat(product.getPrice()).isEqualTo(10000);
+        assertThat(product.getImageUrl()).isEqualTo("http://localhost:8080/rat");
+    }
 }
@@ -0,0 +1,26 @@
+package com.codesoom.assignment.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductViewTest {
+    @Test
+    void of() {
+        Product product = Product.builder()
+                .id(1L)
+                .name("쥐돌이")
+                .maker("냥이월드")
+                .price(5000)
+                .imageUrl("http://localhost:8080/rat")
+                .build();
+
+        ProductView view = ProductView.of(product);
+
+        assertThat(view.getId()).isEqualTo(1L);
+        assertThat(view.getName()).isEqualTo("쥐돌이");
+        assertThat(view.getMaker()).isEqualTo("냥이월드");
+        assertThat(view.getPrice()).isEqualTo(5000);
+        assertThat(view.getImageUrl()).isEqualTo("http://localhost:8080/rat");
+    }
+}
@@ -1,10 +1,14 @@
 package com.codesoom.assignment.domain;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 class UserTest {
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
     @Test
     void changeWith() {
         User user = User.builder().build();
@@ -18,6 +22,16 @@ class UserTest {
         assertThat(user.getPassword()).isEqualTo("TEST");
     }
 
+    @Test
+    void change() {
+        User user = User.builder().build();
+
+        user.change("TEST", "TEST");
+
+        assertThat(user.getName()).isEqualTo("TEST");
+        assertThat(user.getPassword()).isEqualTo("TEST");
+    }
+
     @Test
     void destroy() {
         User user = User.builder().build();
@@ -32,21 +46,51 @@ class UserTest {
     @Test
     void authenticate() {
         User user = User.builder()
-                .password("test")
+                .password(passwordEncoder.encode("test"))
                 .build();
 
-        assertThat(user.authenticate("test")).isTrue();
-        assertThat(user.authenticate("xxx")).isFalse();
+        assertThat(user.authenticate("test", passwordEncoder)).isTrue();
+        assertThat(user.authenticate("xxx", passwordEncoder)).isFalse();
     }
 
     @Test
     void authenticateWithDeletedUser() {
         User user = User.builder()
-                .password("test")
+                .password(passwordEncoder.encode("test"))
                 .deleted(true)
                 .build();
 
-        assertThat(user.authenticate("test")).isFalse();
-        assertThat(user.authenticate("xxx")).isFalse();
+        assertThat(user.authenticate("test", passwordEncoder)).isFalse();
+        assertThat(user.authenticate("xxx", passwordEncoder)).isFalse();
+    }
+
+    @Test
+    void authenticateWithPlainPassword() {
+        User user = User.builder()
+                .password("test")
+                .build();
+
+        assertThat(user.hasPlainPassword()).isTrue();
+        assertThat(user.authenticate("test", passwordEncoder)).isTrue();
+        assertThat(user.authenticate("xxx", passwordEncoder)).isFalse();
+    }
+
+    @Test
+    void changePassword() {
+        User user = User.builder()
+                .password("test")
+                .build();
+
+        user.changePassword(passwordEncoder.encode("test"));
+
+        assertThat(user.hasPlainPassword()).isFalse();
+        assertThat(user.authenticate("test", passwordEncoder)).isTrue();
+    }
+
+    @Test
+    void normalizeEmail() {
+        assertThat(User.normalizeEmail(" Tester@Example.COM "))
+                .isEqualTo("tester@example.com");
+        assertThat(User.normalizeEmail(null)).isNull();
     }
 }
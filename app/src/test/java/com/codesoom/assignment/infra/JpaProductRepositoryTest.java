@@ -0,0 +1,220 @@
+package com.codesoom.assignment.infra;
+
+import com.codesoom.assignment.domain.CatalogVersion;
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.domain.ProductFields;
+import com.codesoom.assignment.domain.ProductView;
+import com.codesoom.assignment.domain.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import javax.persistence.Cache;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({MakerDictionary.class, MakerConverter.class})
+class JpaProductRepositoryTest {
+    @Autowired
+    private JpaProductRepository productRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void saveAllocatesDistinctIncreasingIds() {
+        Set<Long> ids = new HashSet<>();
+        Long lastId = 0L;
+
+        // 블록 하나(50개)를 넘겨서 다음 블록으로 넘어가는 경우까지 본다.
+        for (int i = 0; i < 120; i += 1) {
+            Product product = productRepository.save(Product.builder()
+                    .name("쥐돌이 " + i)
+                    .maker("냥이월드")
+                    .price(5000)
+                    .build());
+
+            assertThat(product.getId()).isGreaterThan(lastId);
+            lastId = product.getId();
+            ids.add(lastId);
+        }
+
+        assertThat(ids).hasSize(120);
+    }
+
+    @Test
+    void productAndUserShareSequenceWithoutCollision() {
+        Product product = productRepository.save(Product.builder()
+                .name("쥐돌이")
+                .build());
+        User user = entityManager.persist(User.builder()
+                .email("tester@example.com")
+                .build());
+
+        assertThat(product.getId()).isNotEqualTo(user.getId());
+    }
+
+    @Test
+    void makerIsStoredAsDictionaryId() {
+        Long first = productRepository.save(Product.builder()
+                .name("쥐돌이")
+                .maker(new String("냥이월드"))
+                .build()).getId();
+        Long second = productRepository.save(Product.builder()
+                .name("쥐순이")
+                .maker(new String("냥이월드"))
+                .build()).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        Object makerId = entityManager.getEntityManager()
+                .createNativeQuery("select maker_id from product where id = ?")
+                .setParameter(1, first)
+                .getSingleResult();
+        assertThat(makerId).isInstanceOf(Integer.class);
+
+        // 다시 읽은 상품들은 사전에 있는 이름 인스턴스 하나를 같이 쓴다.
+        String firstMaker = productRepository.findById(first).get().getMaker();
+        String secondMaker = productRepository.findById(second).get().getMaker();
+        assertThat(firstMaker).isEqualTo("냥이월드");
+        assertThat(secondMaker).isSameAs(firstMaker);
+    }
+
+    @Test
+    void catalogVersionChangesWithProducts() {
+        CatalogVersion empty = productRepository.getCatalogVersion();
+
+        Product product = productRepository.save(Product.builder()
+                .name("쥐돌이")
+                .maker("냥이월드")
+                .price(5000)
+                .build());
+        entityManager.flush();
+        CatalogVersion created = productRepository.getCatalogVersion();
+        assertThat(created).isNotEqualTo(empty);
+        assertThat(productRepository.getCatalogVersion()).isEqualTo(created);
+
+        product.change("쥐순이", "냥이월드", 6000, null);
+        entityManager.flush();
+        CatalogVersion updated = productRepository.getCatalogVersion();
+        assertThat(updated).isNotEqualTo(created);
+
+        productRepository.delete(product);
+        entityManager.flush();
+        assertThat(productRepository.getCatalogVersion())
+                .isNotEqualTo(updated)
+                .isEqualTo(empty);
+    }
+
+    @Test
+    void streamAllBypassesSecondLevelCache() {
+        Long id = productRepository.save(Product.builder()
+                .name("쥐돌이")
+                .build()).getId();
+        entityManager.flush();
+        entityManager.clear();
+        Cache cache = entityManager.getEntityManager()
+                .getEntityManagerFactory().getCache();
+        cache.evictAll();
+
+        try (Stream<Product> products = productRepository.streamAll()) {
+            assertThat(products.map(Product::getId)
+                    .collect(Collectors.toList())).contains(id);
+        }
+
+        assertThat(cache.contains(Product.class, id)).isFalse();
+    }
+
+    @Test
+    void findViewsByPriceWithKeyset() {
+        int[] prices = {3000, 5000, 1000, 5000, 9000, 5000};
+        for (int price : prices) {
+            productRepository.save(Product.builder()
+                    .name("쥐돌이")
+                    .maker("냥이월드")
+                    .price(price)
+                    .build());
+        }
+        productRepository.save(Product.builder().name("가격 없음").build());
+
+        List<ProductView> first = productRepository.findViewsByPriceAscAfter(
+                2000, Long.MIN_VALUE, 5000, PageRequest.of(0, 3));
+        ProductView last = first.get(first.size() - 1);
+        List<ProductView> second = productRepository.findViewsByPriceAscAfter(
+                last.getPrice(), last.getId(), 5000, PageRequest.of(0, 3));
+
+        assertThat(first).extracting(ProductView::getPrice)
+                .containsExactly(3000, 5000, 5000);
+        assertThat(second).extracting(ProductView::getPrice)
+                .containsExactly(5000);
+        assertThat(second.get(0).getId()).isGreaterThan(last.getId());
+
+        List<ProductView> descending = productRepository
+                .findViewsByPriceDescAfter(
+                        Integer.MAX_VALUE, Long.MAX_VALUE, Integer.MIN_VALUE,
+                        PageRequest.of(0, 10));
+
+        assertThat(descending).extracting(ProductView::getPrice)
+                .containsExactly(9000, 5000, 5000, 5000, 3000, 1000);
+    }
+
+    @Test
+    void findViewsWithFields() {
+        for (int i = 0; i < 3; i += 1) {
+            productRepository.save(Product.builder()
+                    .name("쥐돌이 " + i)
+                    .maker("냥이월드")
+                    .price(5000 + i)
+                    .imageUrl("http://localhost:8080/rat/" + i)
+                    .build());
+        }
+        ProductFields fields = ProductFields.parse("id,name,price");
+
+        List<ProductView> products = productRepository.findViewsAfter(
+                0L, PageRequest.of(0, 2), fields);
+
+        assertThat(products).extracting(ProductView::getName)
+                .containsExactly("쥐돌이 0", "쥐돌이 1");
+        assertThat(products).extracting(ProductView::getPrice)
+                .containsExactly(5000, 5001);
+        assertThat(products).extracting(ProductView::getMaker)
+                .containsOnlyNulls();
+        assertThat(products).extracting(ProductView::getImageUrl)
+                .containsOnlyNulls();
+
+        List<ProductView> byPrice = productRepository.findViewsByPriceDescAfter(
+                Integer.MAX_VALUE, Long.MAX_VALUE, 5001, PageRequest.of(0, 10),
+                fields);
+
+        assertThat(byPrice).extracting(ProductView::getPrice)
+                .containsExactly(5002, 5001);
+    }
+
+    @Test
+    void findViewByIdWithSingleField() {
+        Long id = productRepository.save(Product.builder()
+                .name("쥐돌이")
+                .maker("냥이월드")
+                .price(5000)
+                .build()).getId();
+
+        ProductView product = productRepository
+                .findViewById(id, ProductFields.parse("maker")).get();
+
+        assertThat(product.getMaker()).isEqualTo("냥이월드");
+        assertThat(product.getId()).isNull();
+        assertThat(product.getName()).isNull();
+        assertThat(productRepository.findViewById(
+                id + 1000, ProductFields.parse("maker"))).isEmpty();
+    }
+}
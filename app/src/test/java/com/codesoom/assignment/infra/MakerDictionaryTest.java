@@ -0,0 +1,125 @@
+package com.codesoom.assignment.infra;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MakerDictionaryTest {
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private MakerDictionary makerDictionary;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("create table maker (" +
+                "id integer generated by default as identity primary key, " +
+                "name varchar(255) not null unique)");
+
+        transactionTemplate = new TransactionTemplate(
+                new DataSourceTransactionManager(database));
+        makerDictionary = new MakerDictionary(database);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void idOfRegistersNewMakerOnce() {
+        Integer id = makerDictionary.idOf("냥이월드");
+
+        assertThat(makerDictionary.idOf(new String("냥이월드"))).isEqualTo(id);
+        assertThat(makerDictionary.idOf("고양이상회")).isNotEqualTo(id);
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from maker", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    void nameOfReturnsSharedInstance() {
+        Integer id = makerDictionary.idOf(new String("냥이월드"));
+
+        assertThat(makerDictionary.nameOf(id))
+                .isEqualTo("냥이월드")
+                .isSameAs(makerDictionary.nameOf(id));
+    }
+
+    @Test
+    void nameOfLoadsMakerAddedElsewhere() {
+        jdbcTemplate.update("insert into maker (name) values ('캣타워')");
+        Integer id = jdbcTemplate.queryForObject(
+                "select id from maker where name = '캣타워'", Integer.class);
+
+        assertThat(makerDictionary.nameOf(id)).isEqualTo("캣타워");
+        assertThat(makerDictionary.idOf("캣타워")).isEqualTo(id);
+    }
+
+    @Test
+    void idOfReusesMakerAddedElsewhere() {
+        jdbcTemplate.update("insert into maker (name) values ('캣타워')");
+        Integer id = jdbcTemplate.queryForObject(
+                "select id from maker where name = '캣타워'", Integer.class);
+
+        assertThat(makerDictionary.idOf("캣타워")).isEqualTo(id);
+    }
+
+    @Test
+    void idOfInCommittedTransaction() {
+        Integer id = transactionTemplate.execute(status -> {
+            Integer registered = makerDictionary.idOf("냥이월드");
+            assertThat(makerDictionary.idOf("냥이월드")).isEqualTo(registered);
+            assertThat(makerDictionary.nameOf(registered)).isEqualTo("냥이월드");
+            assertThat(makerDictionary.size()).isZero();
+            return registered;
+        });
+
+        assertThat(makerDictionary.size()).isEqualTo(1);
+        assertThat(makerDictionary.idOf("냥이월드")).isEqualTo(id);
+    }
+
+    @Test
+    void idOfInRolledBackTransaction() {
+        transactionTemplate.execute(status -> {
+            Integer id = makerDictionary.idOf("냥이월드");
+            assertThat(makerDictionary.nameOf(id)).isEqualTo("냥이월드");
+            status.setRollbackOnly();
+            return id;
+        });
+
+        assertThat(makerDictionary.size()).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from maker", Integer.class)).isZero();
+
+        Integer id = makerDictionary.idOf("냥이월드");
+        assertThat(jdbcTemplate.queryForObject(
+                "select id from maker where name = '냥이월드'", Integer.class))
+                .isEqualTo(id);
+    }
+
+    @Test
+    void nullMaker() {
+        assertThat(makerDictionary.idOf(null)).isNull();
+        assertThat(makerDictionary.nameOf(null)).isNull();
+    }
+
+    @Test
+    void nameOfUnknownId() {
+        assertThatThrownBy(() -> makerDictionary.nameOf(999))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
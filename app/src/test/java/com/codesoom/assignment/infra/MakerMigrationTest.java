@@ -0,0 +1,114 @@
+package com.codesoom.assignment.infra;
+
+import com.codesoom.assignment.domain.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 컬럼을 더하고 지우는 DDL 을 쓰므로 테스트 트랜잭션 없이 돌린다.
+@DataJpaTest
+@Import({MakerDictionary.class, MakerConverter.class, MakerMigration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MakerMigrationTest {
+    @Autowired
+    private MakerMigration makerMigration;
+
+    @Autowired
+    private JpaProductRepository productRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("alter table product add column maker varchar(255)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from product where id between 900001 and 900004");
+        jdbcTemplate.execute("alter table product drop column if exists maker");
+    }
+
+    @Test
+    void migrateLegacyMakerColumn() {
+        insertLegacyProduct(900001L, "쥐돌이", "냥이월드");
+        insertLegacyProduct(900002L, "쥐순이", "냥이월드");
+        insertLegacyProduct(900003L, "캣타워", "고양이상회");
+        insertLegacyProduct(900004L, "방울", null);
+
+        makerMigration.migrate();
+
+        assertThat(legacyColumnCount()).isEqualTo(1);
+        assertThat(makerId(900001L)).isEqualTo(makerId(900002L));
+        assertThat(makerId(900004L)).isNull();
+
+        Product product = productRepository.findById(900003L).get();
+        assertThat(product.getMaker()).isEqualTo("고양이상회");
+        assertThat(productRepository.findById(900004L).get().getMaker())
+                .isNull();
+
+        // 다시 돌려도 이미 옮긴 행은 그대로다.
+        makerMigration.migrate();
+        assertThat(productRepository.findById(900001L).get().getMaker())
+                .isEqualTo("냥이월드");
+    }
+
+    @Test
+    void dropLegacyColumnAfterMigration() {
+        insertLegacyProduct(900001L, "쥐돌이", "냥이월드");
+        makerMigration.migrate();
+
+        makerMigration.dropLegacyColumn();
+
+        assertThat(legacyColumnCount()).isZero();
+        assertThat(productRepository.findById(900001L).get().getMaker())
+                .isEqualTo("냥이월드");
+
+        // 옛 컬럼이 없으면 둘 다 아무것도 하지 않는다.
+        makerMigration.dropLegacyColumn();
+        makerMigration.migrate();
+    }
+
+    @Test
+    void dropLegacyColumnWithUnmigratedProducts() {
+        insertLegacyProduct(900001L, "쥐돌이", "냥이월드");
+
+        assertThatThrownBy(() -> makerMigration.dropLegacyColumn())
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(legacyColumnCount()).isEqualTo(1);
+    }
+
+    private void insertLegacyProduct(Long id, String name, String maker) {
+        jdbcTemplate.update("insert into product" +
+                        " (id, name, maker, price, version) values (?, ?, ?, ?, 0)",
+                id, name, maker, 5000);
+    }
+
+    private Integer makerId(Long id) {
+        return jdbcTemplate.queryForObject(
+                "select maker_id from product where id = ?", Integer.class, id);
+    }
+
+    private Integer legacyColumnCount() {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.columns" +
+                        " where upper(table_name) = 'PRODUCT'" +
+                        " and upper(column_name) = 'MAKER'",
+                Integer.class);
+    }
+}
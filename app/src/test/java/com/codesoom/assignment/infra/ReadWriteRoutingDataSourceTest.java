@@ -0,0 +1,52 @@
+package com.codesoom.assignment.infra;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTest {
+    private ReadWriteRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ReadWriteRoutingDataSource();
+        dataSource.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.PRIMARY,
+                new DriverManagerDataSource("jdbc:h2:mem:primary", "sa", ""),
+                ReadWriteRoutingDataSource.REPLICA,
+                new DriverManagerDataSource("jdbc:h2:mem:replica", "sa", "")
+        ));
+        dataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void getConnectionInReadWriteTransaction() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection.getMetaData().getURL())
+                    .isEqualTo("jdbc:h2:mem:primary");
+        }
+    }
+
+    @Test
+    void getConnectionInReadOnlyTransaction() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection.getMetaData().getURL())
+                    .isEqualTo("jdbc:h2:mem:replica");
+        }
+    }
+}
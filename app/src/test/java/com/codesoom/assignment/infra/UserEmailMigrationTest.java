@@ -0,0 +1,106 @@
+package com.codesoom.assignment.infra;
+
+import com.codesoom.assignment.application.JsonMergePatcher;
+import com.codesoom.assignment.application.PrincipalCache;
+import com.codesoom.assignment.application.RegisteredEmailFilter;
+import com.codesoom.assignment.application.UserMapper;
+import com.codesoom.assignment.application.UserService;
+import com.codesoom.assignment.dto.UserRegistrationData;
+import com.codesoom.assignment.errors.UserEmailDuplicationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@Import(UserEmailMigration.class)
+class UserEmailMigrationTest {
+    @Autowired
+    private UserEmailMigration userEmailMigration;
+
+    @Autowired
+    private JpaUserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void migrateNormalizesLegacyEmails() {
+        insertLegacyUser(900001L, " Foo@Example.COM ");
+        insertLegacyUser(900002L, "bar@example.com");
+
+        userEmailMigration.migrate();
+
+        assertThat(email(900001L)).isEqualTo("foo@example.com");
+        assertThat(email(900002L)).isEqualTo("bar@example.com");
+        assertThat(userRepository.findByEmail("foo@example.com"))
+                .isPresent();
+    }
+
+    @Test
+    void registerLowercasedLegacyEmail() {
+        insertLegacyUser(900001L, "Foo@Example.COM");
+        userEmailMigration.migrate();
+
+        RegisteredEmailFilter registeredEmailFilter =
+                new RegisteredEmailFilter(userRepository, 1000, 0.01);
+        registeredEmailFilter.warmUp();
+        UserService userService = new UserService(
+                new UserMapper(mock(PasswordEncoder.class)),
+                userRepository,
+                mock(PrincipalCache.class),
+                registeredEmailFilter,
+                mock(JsonMergePatcher.class),
+                transactionManager);
+
+        assertThatThrownBy(() -> userService.registerUser(
+                UserRegistrationData.builder()
+                        .email("foo@example.com")
+                        .name("Foo")
+                        .password("test")
+                        .build()))
+                .isInstanceOf(UserEmailDuplicationException.class);
+    }
+
+    @Test
+    void migrateWithConflictingEmails() {
+        insertLegacyUser(900001L, "Foo@Example.COM");
+        insertLegacyUser(900002L, "foo@example.com");
+
+        assertThatThrownBy(() -> userEmailMigration.migrate())
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(email(900001L)).isEqualTo("Foo@Example.COM");
+    }
+
+    private void insertLegacyUser(Long id, String email) {
+        jdbcTemplate.update("insert into user" +
+                        " (id, email, name, password, deleted, version)" +
+                        " values (?, ?, ?, ?, false, 0)",
+                id, email, "Legacy", "test");
+    }
+
+    private String email(Long id) {
+        return jdbcTemplate.queryForObject(
+                "select email from user where id = ?", String.class, id);
+    }
+}
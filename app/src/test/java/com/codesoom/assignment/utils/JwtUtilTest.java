@@ -0,0 +1,81 @@
+package com.codesoom.assignment.utils;
+
+import com.codesoom.assignment.errors.InvalidTokenException;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTest {
+    private static final String SECRET = "12345678901234567890123456789010";
+
+    private static final Instant NOW = Instant.parse("2020-11-01T00:00:00Z");
+
+    // exp 없이 발급된 예전 토큰
+    private static final String TOKEN_WITHOUT_EXPIRATION = "eyJhbGciOiJIUzI1NiJ9." +
+            "eyJ1c2VySWQiOjF9.ZZ3CUl0jxeLGvQ1Js5nG2Ty5qGTlqai5ubDMXZOdaDk";
+    private static final String INVALID_TOKEN = "eyJhbGciOiJIUzI1NiJ9." +
+            "eyJ1c2VySWQiOjF9.ZZ3CUl0jxeLGvQ1Js5nG2Ty5qGTlqai5ubDMXZOdaD0";
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, Duration.ofHours(1),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void encode() {
+        String token = jwtUtil.encode(1L);
+
+        Claims claims = jwtUtil.decode(token);
+
+        assertThat(claims.get("userId", Long.class)).isEqualTo(1L);
+        assertThat(claims.getExpiration())
+                .isEqualTo(Date.from(NOW.plus(Duration.ofHours(1))));
+    }
+
+    @Test
+    void decodeWithExpiredToken() {
+        String token = jwtUtil.encode(1L);
+
+        JwtUtil later = new JwtUtil(SECRET, Duration.ofHours(1),
+                Clock.fixed(NOW.plus(Duration.ofHours(2)), ZoneOffset.UTC));
+
+        assertThatThrownBy(() -> later.decode(token))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void decodeWithoutExpiration() {
+        assertThatThrownBy(() -> jwtUtil.decode(TOKEN_WITHOUT_EXPIRATION))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void decodeWithInvalidToken() {
+        assertThatThrownBy(() -> jwtUtil.decode(INVALID_TOKEN))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void decodeWithEmptyToken() {
+        assertThatThrownBy(() -> jwtUtil.decode(null))
+                .isInstanceOf(InvalidTokenException.class);
+
+        assertThatThrownBy(() -> jwtUtil.decode(""))
+                .isInstanceOf(InvalidTokenException.class);
+
+        assertThatThrownBy(() -> jwtUtil.decode("   "))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+}
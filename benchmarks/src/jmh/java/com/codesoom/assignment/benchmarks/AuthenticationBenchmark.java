@@ -0,0 +1,69 @@
+package com.codesoom.assignment.benchmarks;
+
+import com.codesoom.assignment.application.AuthenticationService;
+import com.codesoom.assignment.application.PrincipalCache;
+import com.codesoom.assignment.application.VerifiedTokenCache;
+import com.codesoom.assignment.interceptors.AuthenticationInterceptor;
+import com.codesoom.assignment.domain.User;
+import com.codesoom.assignment.utils.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+// 상품 쓰기 요청 한 건마다 인증 인터셉터가 더하는 비용을 잰다.
+// cached 는 검증된 토큰 캐시와 사용자 캐시를 쓰는 경우, uncached 는 매번
+// 서명을 검증하고 사용자를 조회하는 경우다.
+@State(Scope.Benchmark)
+public class AuthenticationBenchmark {
+    private static final String SECRET = "12345678901234567890123456789010";
+
+    @Param({"cached", "uncached"})
+    private String cache;
+
+    private AuthenticationInterceptor interceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        long maximumSize = cache.equals("cached") ? 10_000 : 0;
+
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        User user = userRepository.save(User.builder()
+                .email("tester@example.com")
+                .name("Tester")
+                .password("test")
+                .build());
+
+        JwtUtil jwtUtil = new JwtUtil(SECRET, Duration.ofHours(24));
+        AuthenticationService authenticationService = new AuthenticationService(
+                userRepository,
+                jwtUtil,
+                new VerifiedTokenCache(maximumSize, Duration.ofMinutes(10)),
+                new PrincipalCache(userRepository, new SimpleMeterRegistry(),
+                        maximumSize, Duration.ofMinutes(1)),
+                new BCryptPasswordEncoder()
+        );
+
+        interceptor = new AuthenticationInterceptor(authenticationService);
+
+        request = new MockHttpServletRequest("PATCH", "/products/1");
+        request.addHeader(HttpHeaders.AUTHORIZATION,
+                "Bearer " + jwtUtil.encode(user.getId()));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public boolean preHandle() {
+        return interceptor.preHandle(request, response, null);
+    }
+}
@@ -0,0 +1,29 @@
+package com.codesoom.assignment.benchmarks;
+
+import com.codesoom.assignment.App;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// 벤치마크마다 서로 다른 인메모리 H2 데이터베이스로 애플리케이션을 띄운다.
+public class BenchmarkApplication {
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(
+            String name,
+            String... properties
+    ) {
+        return new SpringApplicationBuilder(App.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=warn",
+                        "spring.datasource.url=jdbc:h2:mem:" + name +
+                                ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop"
+                )
+                .properties(properties)
+                .run();
+    }
+}
@@ -0,0 +1,245 @@
+package com.codesoom.assignment.benchmarks;
+
+import com.codesoom.assignment.domain.CatalogVersion;
+import com.codesoom.assignment.domain.MakerCount;
+import com.codesoom.assignment.domain.PriceCount;
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.domain.ProductFields;
+import com.codesoom.assignment.domain.ProductRepository;
+import com.codesoom.assignment.domain.ProductView;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// 데이터베이스 비용을 빼고 서비스 자체의 비용만 재기 위한 저장소.
+public class InMemoryProductRepository implements ProductRepository {
+    private final NavigableMap<Long, Product> products =
+            new ConcurrentSkipListMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public List<Product> findAll() {
+        return new ArrayList<>(products.values());
+    }
+
+    @Override
+    public List<ProductView> findAllViews() {
+        return products.values().stream()
+                .map(ProductView::of)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> findAllNames() {
+        return products.values().stream()
+                .map(Product::getName)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ProductView> findViewsAfter(Long id, Pageable pageable) {
+        return products.tailMap(id, false).values().stream()
+                .limit(pageable.getPageSize())
+                .map(ProductView::of)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ProductView> findViewsInPriceRangeAfter(
+            Long id, int minPrice, int maxPrice, Pageable pageable) {
+        return products.tailMap(id, false).values().stream()
+                .filter(product -> product.getPrice() != null
+                        && product.getPrice() >= minPrice
+                        && product.getPrice() <= maxPrice)
+                .limit(pageable.getPageSize())
+                .map(ProductView::of)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ProductView> findViewsByPriceAscAfter(
+            int price, Long id, int maxPrice, Pageable pageable) {
+        return products.values().stream()
+                .filter(product -> product.getPrice() != null
+                        && product.getPrice() <= maxPrice
+                        && (product.getPrice() > price
+                        || (product.getPrice() == price
+                        && product.getId() > id)))
+                .sorted(Comparator.comparing(Product::getPrice)
+                        .thenComparing(Product::getId))
+                .limit(pageable.getPageSize())
+                .map(ProductView::of)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ProductView> findViewsByPriceDescAfter(
+            int price, Long id, int minPrice, Pageable pageable) {
+        return products.values().stream()
+                .filter(product -> product.getPrice() != null
+                        && product.getPrice() >= minPrice
+                        && (product.getPrice() < price
+                        || (product.getPrice() == price
+                        && product.getId() < id)))
+                .sorted(Comparator.comparing(Product::getPrice)
+                        .thenComparing(Product::getId)
+                        .reversed())
+                .limit(pageable.getPageSize())
+                .map(ProductView::of)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ProductView> findAllViews(ProductFields fields) {
+        return project(findAllViews(), fields);
+    }
+
+    @Override
+    public List<ProductView> findViewsAfter(
+            Long id, Pageable pageable, ProductFields fields) {
+        return project(findViewsAfter(id, pageable), fields);
+    }
+
+    @Override
+    public List<ProductView> findViewsInPriceRangeAfter(
+            Long id, int minPrice, int maxPrice, Pageable pageable,
+            ProductFields fields) {
+        return project(findViewsInPriceRangeAfter(
+                id, minPrice, maxPrice, pageable), fields);
+    }
+
+    @Override
+    public List<ProductView> findViewsByPriceAscAfter(
+            int price, Long id, int maxPrice, Pageable pageable,
+            ProductFields fields) {
+        return project(findViewsByPriceAscAfter(
+                price, id, maxPrice, pageable), fields);
+    }
+
+    @Override
+    public List<ProductView> findViewsByPriceDescAfter(
+            int price, Long id, int minPrice, Pageable pageable,
+            ProductFields fields) {
+        return project(findViewsByPriceDescAfter(
+                price, id, minPrice, pageable), fields);
+    }
+
+    @Override
+    public Optional<ProductView> findViewById(Long id, ProductFields fields) {
+        return findViewById(id).map(fields::project);
+    }
+
+    @Override
+    public Stream<Product> streamAll() {
+        return products.values().stream();
+    }
+
+    @Override
+    public Optional<Product> findById(Long id) {
+        return Optional.ofNullable(products.get(id));
+    }
+
+    @Override
+    public List<Product> findAllByIdIn(Collection<Long> ids) {
+        return ids.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<ProductView> findViewById(Long id) {
+        return findById(id).map(ProductView::of);
+    }
+
+    @Override
+    public List<ProductView> findViewsByIdIn(Collection<Long> ids) {
+        return ids.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .map(ProductView::of)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<Long> findVersionById(Long id) {
+        return findById(id).map(product -> 0L);
+    }
+
+    @Override
+    public List<MakerCount> countByMaker() {
+        return products.values().stream()
+                .collect(Collectors.groupingBy(
+                        product -> Optional.ofNullable(product.getMaker()),
+                        Collectors.counting()))
+                .entrySet().stream()
+                .map(entry -> new MakerCount(
+                        entry.getKey().orElse(null), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<PriceCount> countByPrice() {
+        return products.values().stream()
+                .collect(Collectors.groupingBy(
+                        product -> Optional.ofNullable(product.getPrice()),
+                        Collectors.counting()))
+                .entrySet().stream()
+                .map(entry -> new PriceCount(
+                        entry.getKey().orElse(null), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public CatalogVersion getCatalogVersion() {
+        Collection<Product> values = products.values();
+        return new CatalogVersion(
+                (long) values.size(),
+                values.stream()
+                        .map(Product::getVersion)
+                        .filter(Objects::nonNull)
+                        .mapToLong(Long::longValue)
+                        .sum(),
+                values.stream().mapToLong(Product::getId).sum());
+    }
+
+    @Override
+    public Product save(Product product) {
+        Product saved = product;
+        if (product.getId() == null) {
+            saved = Product.builder()
+                    .id(sequence.incrementAndGet())
+                    .name(product.getName())
+                    .maker(product.getMaker())
+                    .price(product.getPrice())
+                    .imageUrl(product.getImageUrl())
+                    .build();
+        }
+        products.put(saved.getId(), saved);
+        return saved;
+    }
+
+    @Override
+    public void delete(Product product) {
+        products.remove(product.getId());
+    }
+
+    private List<ProductView> project(
+            List<ProductView> views,
+            ProductFields fields
+    ) {
+        return views.stream()
+                .map(fields::project)
+                .collect(Collectors.toList());
+    }
+}
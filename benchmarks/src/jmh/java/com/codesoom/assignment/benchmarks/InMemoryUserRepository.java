@@ -0,0 +1,64 @@
+package com.codesoom.assignment.benchmarks;
+
+import com.codesoom.assignment.domain.User;
+import com.codesoom.assignment.domain.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 데이터베이스 비용을 빼고 서비스 자체의 비용만 재기 위한 저장소.
+public class InMemoryUserRepository implements UserRepository {
+    private final Map<Long, User> users = new ConcurrentHashMap<>();
+    private final Map<String, User> usersByEmail = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public User save(User user) {
+        User saved = user;
+        if (user.getId() == null) {
+            saved = User.builder()
+                    .id(sequence.incrementAndGet())
+                    .email(user.getEmail())
+                    .name(user.getName())
+                    .password(user.getPassword())
+                    .build();
+        }
+        users.put(saved.getId(), saved);
+        usersByEmail.put(saved.getEmail(), saved);
+        return saved;
+    }
+
+    @Override
+    public User saveAndFlush(User user) {
+        return save(user);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return usersByEmail.containsKey(email);
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        return Optional.ofNullable(users.get(id));
+    }
+
+    @Override
+    public Optional<User> findByIdAndDeletedIsFalse(Long id) {
+        return findById(id).filter(user -> !user.isDeleted());
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return Optional.ofNullable(usersByEmail.get(email));
+    }
+
+    @Override
+    public List<String> findAllEmails() {
+        return new ArrayList<>(usersByEmail.keySet());
+    }
+}
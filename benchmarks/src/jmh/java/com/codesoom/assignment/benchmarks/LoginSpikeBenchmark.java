@@ -0,0 +1,96 @@
+package com.codesoom.assignment.benchmarks;
+
+import com.codesoom.assignment.application.AuthenticationService;
+import com.codesoom.assignment.application.ProductService;
+import com.codesoom.assignment.application.UserService;
+import com.codesoom.assignment.dto.ProductData;
+import com.codesoom.assignment.dto.UserRegistrationData;
+import com.codesoom.assignment.errors.PasswordHashingBusyException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// 로그인이 몰리는 동안 상품 목록 조회 지연을 잰다.
+// 로그인은 AuthenticationService.login 을 거치고, 두 그룹이 같은 Hikari
+// 연결 풀(10개)을 나눠 쓴다.
+// bounded 는 PasswordHasher 의 기본 설정(코어 수만큼의 스레드, 대기열 32)이고,
+// inline 은 로그인 스레드마다 해시 스레드를 하나씩 주어 요청 스레드에서 바로
+// 해시를 계산하던 예전 방식과 같은 동시성으로 돌린다.
+// spike:catalog 의 평균 시간이 두 경우에 얼마나 다른지 비교한다.
+@State(Scope.Group)
+public class LoginSpikeBenchmark {
+    private static final int LOGIN_THREADS = 32;
+
+    @Param({"bounded", "inline"})
+    public String hashing;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private AuthenticationService authenticationService;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = hashing.equals("bounded")
+                ? BenchmarkApplication.start("login-spike-bounded",
+                "spring.datasource.hikari.maximum-pool-size=10")
+                : BenchmarkApplication.start("login-spike-inline",
+                "spring.datasource.hikari.maximum-pool-size=10",
+                "password.hashing.threads=" + LOGIN_THREADS,
+                "password.hashing.queue-capacity=" + LOGIN_THREADS);
+
+        productService = context.getBean(ProductService.class);
+        authenticationService = context.getBean(AuthenticationService.class);
+
+        for (int i = 0; i < 100; i += 1) {
+            productService.createProduct(ProductData.builder()
+                    .name("쥐돌이 " + i)
+                    .maker("냥이월드")
+                    .price(5000 + i)
+                    .imageUrl("http://localhost:8080/rat/" + i)
+                    .build());
+        }
+
+        context.getBean(UserService.class).registerUser(
+                UserRegistrationData.builder()
+                        .email("tester@example.com")
+                        .name("Tester")
+                        .password("password")
+                        .build());
+
+        objectMapper = new ObjectMapper();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Group("spike")
+    @GroupThreads(4)
+    public byte[] catalog() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(productService.getProducts());
+    }
+
+    @Benchmark
+    @Group("spike")
+    @GroupThreads(LOGIN_THREADS)
+    public String login() {
+        try {
+            return authenticationService.login("tester@example.com", "password");
+        } catch (PasswordHashingBusyException e) {
+            // 429 로 바로 거절된 요청
+            return null;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.codesoom.assignment.benchmarks;
+
+import com.codesoom.assignment.domain.ProductView;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 제조사 이름을 행마다 두는 예전 스키마와 maker 사전을 쓰는 지금 스키마에 같은
+// 상품을 넣고 행 크기와, 전부 읽어 들였을 때의 힙 사용량을 비교한다.
+public class MakerFootprintReport {
+    private static final String[] NAMES = {"쥐돌이", "쥐순이", "낚싯대", "방울", "숨숨집"};
+    private static final String[] MAKERS = {
+            "냥이월드", "고양이상회", "캣타워", "Meow Co.", "냥냥공방",
+            "묘한가게", "Purrfect Toys", "캣닢농장"};
+    private static final int BATCH_SIZE = 1000;
+
+    // 잰 뒤까지 목록이 수거되지 않도록 붙잡아 둔다.
+    private static List<ProductView> retained;
+
+    public static void main(String[] args) throws Exception {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path directory = Files.createTempDirectory("maker-footprint");
+
+        try (Connection connection = DriverManager.getConnection(
+                "jdbc:h2:file:" + directory.resolve("footprint"))) {
+            createTables(connection);
+            insertProducts(connection, size);
+
+            long legacyBytes = diskSpaceUsed(connection, "LEGACY_PRODUCT");
+            long productBytes = diskSpaceUsed(connection, "PRODUCT")
+                    + diskSpaceUsed(connection, "MAKER");
+
+            System.out.printf("products: %,d%n", size);
+            System.out.printf("table    legacy %,d bytes (%.1f per row)%n",
+                    legacyBytes, (double) legacyBytes / size);
+            System.out.printf("table    maker  %,d bytes (%.1f per row)%n",
+                    productBytes, (double) productBytes / size);
+
+            long legacyHeap = retainedHeap(() -> loadLegacy(connection));
+            long productHeap = retainedHeap(() -> loadWithDictionary(connection));
+
+            System.out.printf("heap     legacy %,d bytes (%.1f per product)%n",
+                    legacyHeap, (double) legacyHeap / size);
+            System.out.printf("heap     maker  %,d bytes (%.1f per product)%n",
+                    productHeap, (double) productHeap / size);
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    private static void createTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table legacy_product (" +
+                    "id bigint primary key, name varchar(255)," +
+                    " maker varchar(255), price integer," +
+                    " image_url varchar(255), version bigint not null)");
+            statement.execute("create table maker (" +
+                    "id integer generated by default as identity primary key," +
+                    " name varchar(255) not null unique)");
+            statement.execute("create table product (" +
+                    "id bigint primary key, name varchar(255)," +
+                    " maker_id integer, price integer," +
+                    " image_url varchar(255), version bigint not null)");
+        }
+    }
+
+    private static void insertProducts(Connection connection, int size)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "insert into maker (id, name) values (?, ?)")) {
+            for (int i = 0; i < MAKERS.length; i += 1) {
+                statement.setInt(1, i + 1);
+                statement.setString(2, MAKERS[i]);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+
+        connection.setAutoCommit(false);
+        try (PreparedStatement legacy = connection.prepareStatement(
+                "insert into legacy_product values (?, ?, ?, ?, null, 0)");
+             PreparedStatement product = connection.prepareStatement(
+                     "insert into product values (?, ?, ?, ?, null, 0)")) {
+            for (int i = 0; i < size; i += 1) {
+                String name = NAMES[i % NAMES.length] + " " + i;
+                int maker = i % MAKERS.length;
+
+                legacy.setLong(1, i + 1);
+                legacy.setString(2, name);
+                legacy.setString(3, MAKERS[maker]);
+                legacy.setInt(4, 1000 + i % 100_000);
+                legacy.addBatch();
+
+                product.setLong(1, i + 1);
+                product.setString(2, name);
+                product.setInt(3, maker + 1);
+                product.setInt(4, 1000 + i % 100_000);
+                product.addBatch();
+
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    legacy.executeBatch();
+                    product.executeBatch();
+                    connection.commit();
+                }
+            }
+            legacy.executeBatch();
+            product.executeBatch();
+            connection.commit();
+        }
+        connection.setAutoCommit(true);
+    }
+
+    private static long diskSpaceUsed(Connection connection, String table)
+            throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "call disk_space_used('" + table + "')")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    // 예전처럼 행마다 새 문자열을 만든다.
+    private static List<ProductView> loadLegacy(Connection connection)
+            throws SQLException {
+        List<ProductView> products = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "select id, name, maker, price, image_url" +
+                             " from legacy_product")) {
+            while (resultSet.next()) {
+                products.add(new ProductView(resultSet.getLong(1),
+                        resultSet.getString(2), resultSet.getString(3),
+                        resultSet.getInt(4), resultSet.getString(5)));
+            }
+        }
+        return products;
+    }
+
+    // MakerDictionary 처럼 id 로 사전의 이름 인스턴스를 찾아 쓴다.
+    private static List<ProductView> loadWithDictionary(Connection connection)
+            throws SQLException {
+        Map<Integer, String> makers = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet =
+                     statement.executeQuery("select id, name from maker")) {
+            while (resultSet.next()) {
+                makers.put(resultSet.getInt(1), resultSet.getString(2));
+            }
+        }
+
+        List<ProductView> products = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "select id, name, maker_id, price, image_url" +
+                             " from product")) {
+            while (resultSet.next()) {
+                products.add(new ProductView(resultSet.getLong(1),
+                        resultSet.getString(2), makers.get(resultSet.getInt(3)),
+                        resultSet.getInt(4), resultSet.getString(5)));
+            }
+        }
+        return products;
+    }
+
+    private static long retainedHeap(Loader loader) throws SQLException {
+        long before = usedHeap();
+        retained = loader.load();
+        long after = usedHeap();
+        retained = null;
+        return after - before;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i += 1) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean()
+                .getHeapMemoryUsage().getUsed();
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (var paths = Files.walk(directory)) {
+            paths.sorted((a, b) -> b.compareTo(a))
+                    .forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private interface Loader {
+        List<ProductView> load() throws SQLException;
+    }
+}
@@ -0,0 +1,121 @@
+package com.codesoom.assignment.benchmarks;
+
+import com.codesoom.assignment.application.ProductMapper;
+import com.codesoom.assignment.application.UserMapper;
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.domain.User;
+import com.codesoom.assignment.dto.ProductData;
+import com.codesoom.assignment.dto.UserModificationData;
+import com.github.dozermapper.core.DozerBeanMapperBuilder;
+import com.github.dozermapper.core.Mapper;
+import com.github.dozermapper.core.loader.api.BeanMappingBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+
+// 예전의 Dozer 매핑 경로와 직접 작성한 매퍼를 비교한다.
+@State(Scope.Thread)
+public class MappingBenchmark {
+    private Mapper dozerMapper;
+    private ProductMapper productMapper;
+    private UserMapper userMapper;
+
+    private ProductData productData;
+    private UserModificationData modificationData;
+    private Product product;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        // DTO 의 @Mapping 어노테이션이 하던 필드 접근 매핑을 그대로 설정한다.
+        dozerMapper = DozerBeanMapperBuilder.create()
+                .withMappingBuilder(new BeanMappingBuilder() {
+                    @Override
+                    protected void configure() {
+                        mapping(ProductData.class, Product.class)
+                                .fields(field("name").accessible(),
+                                        field("name").accessible())
+                                .fields(field("maker").accessible(),
+                                        field("maker").accessible())
+                                .fields(field("price").accessible(),
+                                        field("price").accessible())
+                                .fields(field("imageUrl").accessible(),
+                                        field("imageUrl").accessible());
+
+                        mapping(UserModificationData.class, User.class)
+                                .fields(field("name").accessible(),
+                                        field("name").accessible())
+                                .fields(field("password").accessible(),
+                                        field("password").accessible());
+                    }
+                })
+                .build();
+
+        productMapper = new ProductMapper();
+        // 해시 비용을 빼고 매핑 비용만 비교한다.
+        userMapper = new UserMapper(NoOpPasswordEncoder.getInstance());
+
+        productData = ProductData.builder()
+                .name("쥐순이")
+                .maker("코드숨")
+                .price(10000)
+                .imageUrl("http://localhost:8080/rat")
+                .build();
+
+        modificationData = UserModificationData.builder()
+                .name("TEST")
+                .password("TEST")
+                .build();
+
+        product = Product.builder()
+                .id(1L)
+                .name("쥐돌이")
+                .maker("냥이월드")
+                .price(5000)
+                .build();
+
+        user = User.builder()
+                .id(1L)
+                .email("tester@example.com")
+                .name("Tester")
+                .password("test")
+                .build();
+    }
+
+    @Benchmark
+    public Product createProductWithDozer() {
+        return dozerMapper.map(productData, Product.class);
+    }
+
+    @Benchmark
+    public Product createProductWithMapper() {
+        return productMapper.toProduct(productData);
+    }
+
+    @Benchmark
+    public Product updateProductWithDozer() {
+        product.changeWith(dozerMapper.map(productData, Product.class));
+        return product;
+    }
+
+    @Benchmark
+    public Product updateProductWithMapper() {
+        productMapper.updateProduct(product, productData);
+        return product;
+    }
+
+    @Benchmark
+    public User updateUserWithDozer() {
+        user.changeWith(dozerMapper.map(modificationData, User.class));
+        return user;
+    }
+
+    @Benchmark
+    public User updateUserWithMapper() {
+        userMapper.updateUser(user, modificationData,
+                userMapper.encodePassword(modificationData.getPassword()));
+        return user;
+    }
+}
@@ -0,0 +1,56 @@
+package com.codesoom.assignment.benchmarks;
+
+import com.codesoom.assignment.application.ProductNameTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 키 입력마다 들어오는 자동 완성 조회를 여러 스레드에서 동시에 부른다.
+// 트라이 조회와, 이름 전체를 훑어 접두사로 거른 뒤 정렬하는 경우를 비교한다.
+// p99 는 -Pjmh.mode=sample 로 실행해서 본다.
+@State(Scope.Benchmark)
+@Threads(4)
+public class ProductAutocompleteBenchmark {
+    private static final String[] NAMES = {"쥐돌이", "쥐순이", "낚싯대", "방울", "숨숨집"};
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    @Param({"쥐", "쥐돌이 12"})
+    public String prefix;
+
+    private List<String> names;
+    private ProductNameTrie trie;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        names = new ArrayList<>(size);
+        for (int i = 0; i < size; i += 1) {
+            names.add(NAMES[i % NAMES.length] + " " + i);
+        }
+
+        trie = ProductNameTrie.build(names, 10);
+    }
+
+    @Benchmark
+    public List<String> trie() {
+        return trie.suggest(prefix);
+    }
+
+    @Benchmark
+    public List<String> scan() {
+        return names.stream()
+                .filter(name -> name.startsWith(prefix))
+                .sorted()
+                .limit(10)
+                .collect(Collectors.toList());
+    }
+}
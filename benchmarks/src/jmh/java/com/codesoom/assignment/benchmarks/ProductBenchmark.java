@@ -0,0 +1,36 @@
+package com.codesoom.assignment.benchmarks;
+
+import com.codesoom.assignment.domain.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class ProductBenchmark {
+    private Product product;
+    private Product source;
+
+    @Setup
+    public void setUp() {
+        product = Product.builder()
+                .id(1L)
+                .name("쥐돌이")
+                .maker("냥이월드")
+                .price(5000)
+                .build();
+
+        source = Product.builder()
+                .name("쥐순이")
+                .maker("코드숨")
+                .price(10000)
+                .imageUrl("http://localhost:8080/rat")
+                .build();
+    }
+
+    @Benchmark
+    public Product changeWith() {
+        product.changeWith(source);
+        return product;
+    }
+}
@@ -0,0 +1,89 @@
+package com.codesoom.assignment.benchmarks;
+
+import com.codesoom.assignment.application.ProductService;
+import com.codesoom.assignment.application.ProductSort;
+import com.codesoom.assignment.controllers.ProductJsonWriter;
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.domain.ProductFields;
+import com.codesoom.assignment.domain.ProductRepository;
+import com.codesoom.assignment.dto.ProductPage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// ?fields 조합마다 H2 에서 한 쪽(100 개)과 전체 목록을 읽어 JSON 으로 쓰는 처리량을
+// 잰다. all 은 필드를 고르지 않은 요청처럼 ObjectMapper 로 쓴다.
+// 조합마다 응답 크기를 시작할 때 한 번 출력한다.
+@State(Scope.Benchmark)
+public class ProductFieldsBenchmark {
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"1000"})
+    public int size;
+
+    @Param({"all", "id,name,price,imageUrl", "id,name,price", "id,name"})
+    public String fields;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private ProductJsonWriter productJsonWriter;
+    private ObjectMapper objectMapper;
+    private ProductFields selected;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        context = BenchmarkApplication.start("fields");
+        productService = context.getBean(ProductService.class);
+        productJsonWriter = context.getBean(ProductJsonWriter.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        selected = ProductFields.parse(fields.equals("all") ? null : fields);
+
+        ProductRepository productRepository =
+                context.getBean(ProductRepository.class);
+        for (int i = 0; i < size; i += 1) {
+            productRepository.save(Product.builder()
+                    .name("쥐돌이 " + i)
+                    .maker("냥이월드")
+                    .price(5000 + i)
+                    .imageUrl("http://localhost:8080/images/rat-" + i + ".png")
+                    .build());
+        }
+
+        System.out.printf("%nfields=%s page=%d bytes catalog=%d bytes%n",
+                fields, page().length, catalog().length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] page() throws JsonProcessingException {
+        if (selected.isAll()) {
+            return objectMapper.writeValueAsBytes(productService.getProducts(
+                    null, null, ProductSort.ID, null, PAGE_SIZE));
+        }
+
+        ProductPage page = productService.getProducts(
+                null, null, ProductSort.ID, null, PAGE_SIZE, selected);
+        return productJsonWriter.writePage(page, selected);
+    }
+
+    @Benchmark
+    public byte[] catalog() throws JsonProcessingException {
+        if (selected.isAll()) {
+            return objectMapper.writeValueAsBytes(productService.getProducts());
+        }
+
+        return productJsonWriter.writeProducts(
+                productService.getProducts(selected), selected);
+    }
+}
@@ -0,0 +1,74 @@
+package com.codesoom.assignment.benchmarks;
+
+import com.codesoom.assignment.application.ProductImportService;
+import com.codesoom.assignment.application.ProductService;
+import com.codesoom.assignment.dto.ProductData;
+import com.codesoom.assignment.dto.ProductImportResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+// 상품 1,000개를 POST /products 처럼 하나씩 저장하는 경우와
+// 일괄 가져오기로 저장하는 경우를 H2 에서 비교한다. 결과는 상품 한 개 기준이다.
+@State(Scope.Benchmark)
+public class ProductImportBenchmark {
+    private static final int SIZE = 1000;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private ProductImportService productImportService;
+    private ProductData productData;
+    private byte[] ndjson;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("imports");
+        productService = context.getBean(ProductService.class);
+        productImportService = context.getBean(ProductImportService.class);
+
+        productData = ProductData.builder()
+                .name("쥐돌이")
+                .maker("냥이월드")
+                .price(5000)
+                .imageUrl("http://localhost:8080/rat")
+                .build();
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < SIZE; i += 1) {
+            builder.append("{\"name\":\"쥐돌이 ").append(i)
+                    .append("\",\"maker\":\"냥이월드\",\"price\":")
+                    .append(5000 + i)
+                    .append(",\"imageUrl\":\"http://localhost:8080/rat\"}\n");
+        }
+        ndjson = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void createOneByOne() {
+        for (int i = 0; i < SIZE; i += 1) {
+            productService.createProduct(productData);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public ProductImportResult importProducts() throws IOException {
+        return productImportService.importProducts(
+                new ByteArrayInputStream(ndjson));
+    }
+}
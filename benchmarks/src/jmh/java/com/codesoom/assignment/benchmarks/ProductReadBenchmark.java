@@ -0,0 +1,111 @@
+package com.codesoom.assignment.benchmarks;
+
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.domain.ProductRepository;
+import com.codesoom.assignment.domain.ProductView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+// 엔티티로 읽는 경로와 ProductView 프로젝션으로 읽는 경로를 H2 에서 비교한다.
+// 엔티티 경로의 findAll 과 findById 는 2차 캐시를 거친다.
+// 정해진 상품 여러 개는 한 건씩 읽는 경로와 IN 쿼리 한 번으로 읽는 경로를 비교한다.
+// 가격순 첫 쪽은 (price, id) 인덱스로 읽는 경로와 전부 읽어 정렬하는 경로를 비교한다.
+@State(Scope.Benchmark)
+public class ProductReadBenchmark {
+    private static final int LOOKUP_SIZE = 20;
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private Long productId;
+    private final List<Long> lookupIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("reads");
+        productRepository = context.getBean(ProductRepository.class);
+
+        for (int i = 0; i < size; i += 1) {
+            productId = productRepository.save(Product.builder()
+                    .name("쥐돌이 " + i)
+                    .maker("냥이월드")
+                    .price(5000 + i)
+                    .imageUrl("http://localhost:8080/rat/" + i)
+                    .build()).getId();
+
+            if (i % (size / LOOKUP_SIZE) == 0) {
+                lookupIds.add(productId);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Product> findAllEntities() {
+        return productRepository.findAll();
+    }
+
+    @Benchmark
+    public List<ProductView> findAllViews() {
+        return productRepository.findAllViews();
+    }
+
+    @Benchmark
+    public Optional<Product> findEntityById() {
+        return productRepository.findById(productId);
+    }
+
+    @Benchmark
+    public Optional<ProductView> findViewById() {
+        return productRepository.findViewById(productId);
+    }
+
+    @Benchmark
+    public List<ProductView> findViewsOneByOne() {
+        List<ProductView> products = new ArrayList<>(lookupIds.size());
+        for (Long id : lookupIds) {
+            productRepository.findViewById(id).ifPresent(products::add);
+        }
+        return products;
+    }
+
+    @Benchmark
+    public List<ProductView> findViewsByIdIn() {
+        return productRepository.findViewsByIdIn(lookupIds);
+    }
+
+    @Benchmark
+    public List<ProductView> findCheapestByIndex() {
+        return productRepository.findViewsByPriceAscAfter(
+                Integer.MIN_VALUE, Long.MIN_VALUE, Integer.MAX_VALUE,
+                PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public List<ProductView> findCheapestBySorting() {
+        return productRepository.findAllViews().stream()
+                .sorted(Comparator.comparing(ProductView::getPrice)
+                        .thenComparing(ProductView::getId))
+                .limit(20)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,67 @@
+package com.codesoom.assignment.benchmarks;
+
+import com.codesoom.assignment.application.ProductSearchIndex;
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.domain.ProductView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 역색인 검색과, 지금 클라이언트가 하듯 전체 목록을 받아 걸러내는 경우를 비교한다.
+@State(Scope.Benchmark)
+public class ProductSearchBenchmark {
+    private static final String[] NAMES = {"쥐돌이", "쥐순이", "낚싯대", "방울", "숨숨집"};
+    private static final String[] MAKERS = {"냥이월드", "고양이상회", "캣타워"};
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"쥐돌", "냥이 방울"})
+    public String query;
+
+    private InMemoryProductRepository productRepository;
+    private ProductSearchIndex productSearchIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        productRepository = new InMemoryProductRepository();
+        for (int i = 0; i < size; i += 1) {
+            productRepository.save(Product.builder()
+                    .name(NAMES[i % NAMES.length] + " " + i)
+                    .maker(MAKERS[i % MAKERS.length])
+                    .price(5000 + i)
+                    .build());
+        }
+
+        productSearchIndex = new ProductSearchIndex(productRepository);
+        productSearchIndex.build();
+    }
+
+    @Benchmark
+    public List<ProductView> index() {
+        return productSearchIndex.search(query, 20);
+    }
+
+    @Benchmark
+    public List<ProductView> scan() {
+        String[] words = query.split(" ");
+        return productRepository.findAllViews().stream()
+                .filter(product -> {
+                    for (String word : words) {
+                        if (!product.getName().contains(word)
+                                && !product.getMaker().contains(word)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                })
+                .limit(20)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,84 @@
+package com.codesoom.assignment.benchmarks;
+
+import com.codesoom.assignment.application.JsonMergePatcher;
+import com.codesoom.assignment.application.ProductMapper;
+import com.codesoom.assignment.application.ProductService;
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.domain.ProductView;
+import com.codesoom.assignment.dto.ProductData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.validation.Validation;
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class ProductServiceBenchmark {
+    @Param({"memory", "h2"})
+    public String repository;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private ProductData productData;
+    private Long productId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (repository.equals("h2")) {
+            context = BenchmarkApplication.start("products");
+            productService = context.getBean(ProductService.class);
+        } else {
+            productService = new ProductService(
+                    new ProductMapper(),
+                    new InMemoryProductRepository(),
+                    event -> {
+                    },
+                    new JsonMergePatcher(new ObjectMapper(),
+                            Validation.buildDefaultValidatorFactory()
+                                    .getValidator()));
+        }
+
+        productData = ProductData.builder()
+                .name("쥐돌이")
+                .maker("냥이월드")
+                .price(5000)
+                .imageUrl("http://localhost:8080/rat")
+                .build();
+
+        productId = productService.createProduct(productData).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public List<ProductView> getProducts() {
+        return productService.getProducts();
+    }
+
+    @Benchmark
+    public ProductView getProduct() {
+        return productService.getProduct(productId);
+    }
+
+    @Benchmark
+    public Product createProduct() {
+        return productService.createProduct(productData);
+    }
+
+    @Benchmark
+    public Product updateProduct() {
+        return productService.updateProduct(productId, productData);
+    }
+}
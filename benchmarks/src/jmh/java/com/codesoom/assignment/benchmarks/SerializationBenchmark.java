@@ -0,0 +1,58 @@
+package com.codesoom.assignment.benchmarks;
+
+import com.codesoom.assignment.controllers.ProductResponseCache;
+import com.codesoom.assignment.domain.Product;
+import com.codesoom.assignment.dto.UserResultData;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    private ObjectMapper objectMapper;
+    private ProductResponseCache productResponseCache;
+    private Product product;
+    private UserResultData userResultData;
+
+    @Setup
+    public void setUp() {
+        // 스프링 MVC 가 쓰는 것과 같은 설정으로 만든다.
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        productResponseCache = new ProductResponseCache(objectMapper, 100);
+
+        product = Product.builder()
+                .id(1L)
+                .name("쥐돌이")
+                .maker("냥이월드")
+                .price(5000)
+                .imageUrl("http://localhost:8080/rat")
+                .version(0L)
+                .build();
+
+        userResultData = UserResultData.builder()
+                .id(1L)
+                .email("tester@example.com")
+                .name("Tester")
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serializeProduct() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public byte[] cachedProduct() {
+        return productResponseCache.getProduct(1L, 0L, () -> product)
+                .getBody();
+    }
+
+    @Benchmark
+    public byte[] serializeUserResultData() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userResultData);
+    }
+}
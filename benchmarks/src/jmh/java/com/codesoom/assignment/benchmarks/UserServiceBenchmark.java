@@ -0,0 +1,75 @@
+package com.codesoom.assignment.benchmarks;
+
+import com.codesoom.assignment.application.JsonMergePatcher;
+import com.codesoom.assignment.application.PrincipalCache;
+import com.codesoom.assignment.application.RegisteredEmailFilter;
+import com.codesoom.assignment.application.UserMapper;
+import com.codesoom.assignment.application.UserService;
+import com.codesoom.assignment.domain.User;
+import com.codesoom.assignment.dto.UserRegistrationData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.validation.Validation;
+import java.time.Duration;
+
+@State(Scope.Benchmark)
+public class UserServiceBenchmark {
+    @Param({"memory", "h2"})
+    public String repository;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (repository.equals("h2")) {
+            context = BenchmarkApplication.start("users");
+            userService = context.getBean(UserService.class);
+        } else {
+            InMemoryUserRepository userRepository =
+                    new InMemoryUserRepository();
+            RegisteredEmailFilter registeredEmailFilter =
+                    new RegisteredEmailFilter(userRepository, 1_000_000, 0.01);
+            registeredEmailFilter.warmUp();
+            userService = new UserService(
+                    new UserMapper(new BCryptPasswordEncoder()),
+                    userRepository,
+                    new PrincipalCache(userRepository,
+                            new SimpleMeterRegistry(),
+                            10_000, Duration.ofMinutes(1)),
+                    registeredEmailFilter,
+                    new JsonMergePatcher(new ObjectMapper(),
+                            Validation.buildDefaultValidatorFactory()
+                                    .getValidator()),
+                    new InMemoryTransactionManager());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public User registerUser() {
+        // 이메일 중복 검사를 통과하도록 호출마다 새 주소를 쓴다.
+        return userService.registerUser(UserRegistrationData.builder()
+                .email("tester" + sequence++ + "@example.com")
+                .name("Tester")
+                .password("password")
+                .build());
+    }
+}